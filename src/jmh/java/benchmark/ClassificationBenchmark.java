@@ -0,0 +1,98 @@
+package benchmark;
+
+import model.HandCategory;
+import model.WrongResultsException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of validating and classifying a single hand through the list and
+ * packed APIs of {@link model.DiceModel}, and throughput of batch
+ * classification. Run with {@code -prof gc} to see the bytes allocated per
+ * operation.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassificationBenchmark {
+
+    /**
+     * Validates and sorts a boxed list of dice.
+     *
+     * @param data The shared hands.
+     * @param cursor The position of the calling thread.
+     * @return The sorted list.
+     * @throws WrongResultsException Never, the hands are valid.
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<Integer> processGameResultsList(HandData data, Cursor cursor) throws WrongResultsException {
+        return data.model.processGameResults((List<Integer>) data.lists[cursor.next()]);
+    }
+
+    /**
+     * Validates and sorts a packed hand.
+     *
+     * @param data The shared hands.
+     * @param cursor The position of the calling thread.
+     * @return The sorted packed hand.
+     * @throws WrongResultsException Never, the hands are valid.
+     */
+    @Benchmark
+    public int processGameResultsPacked(HandData data, Cursor cursor) throws WrongResultsException {
+        return data.model.processGameResults(data.hands[cursor.next()]);
+    }
+
+    /**
+     * Produces the result message of a boxed list of dice.
+     *
+     * @param data The shared hands.
+     * @param cursor The position of the calling thread.
+     * @return The result message.
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public String evaluateGameResultMessage(HandData data, Cursor cursor) {
+        return data.model.evaluateGameResultMessage((List<Integer>) data.lists[cursor.next()]);
+    }
+
+    /**
+     * Classifies a packed hand.
+     *
+     * @param data The shared hands.
+     * @param cursor The position of the calling thread.
+     * @return The category.
+     */
+    @Benchmark
+    public HandCategory classifyPacked(HandData data, Cursor cursor) {
+        return data.model.classify(data.hands[cursor.next()]);
+    }
+
+    /**
+     * Classifies the whole data set in one batch call; the score is reported
+     * per hand.
+     *
+     * @param data The shared hands.
+     * @param cursor The calling thread's output buffer.
+     * @return The number of invalid hands.
+     */
+    @Benchmark
+    @OperationsPerInvocation(HandData.SIZE)
+    public int classifyAll(HandData data, Cursor cursor) {
+        return data.model.classifyAll(data.hands, cursor.categories);
+    }
+}
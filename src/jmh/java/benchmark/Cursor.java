@@ -0,0 +1,32 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per-thread position in the shared {@link HandData}, so that consecutive
+ * invocations see different hands, together with the thread's output buffer.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+@State(Scope.Thread)
+public class Cursor {
+
+    /**
+     * Output buffer of the batch benchmarks, owned by the thread.
+     */
+    public final byte[] categories = new byte[HandData.SIZE];
+
+    private int index;
+
+    /**
+     * Advances to the next hand.
+     *
+     * @return The index of the next hand.
+     */
+    public int next() {
+        index = (index + 1) & (HandData.SIZE - 1);
+        return index;
+    }
+}
@@ -0,0 +1,80 @@
+package benchmark;
+
+import model.DiceModel;
+import model.PackedHand;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import utils.ParserUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Benchmark input shared by all threads: a fixed set of hands in every
+ * representation the benchmarked methods accept.
+ *
+ * <p>The {@code random} distribution rolls hands uniformly. The
+ * {@code adversarial} distribution uses only hands without any combination,
+ * which exercise every check of a sequential classifier, written with leading
+ * zeros so that parsers see the longest valid tokens.</p>
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+@State(Scope.Benchmark)
+public class HandData {
+
+    /**
+     * Number of hands in the data set; a power of two so that indices can be
+     * wrapped with a mask.
+     */
+    public static final int SIZE = 4096;
+
+    @Param({"random", "adversarial"})
+    public String distribution;
+
+    public final DiceModel model = new DiceModel();
+    public final ParserUtils parserUtils = new ParserUtils();
+    public final int[] hands = new int[SIZE];
+    public final List<?>[] lists = new List<?>[SIZE];
+    public final String[] lines = new String[SIZE];
+    public final byte[][] bytes = new byte[SIZE][];
+
+    /**
+     * Generates the hands of the selected distribution.
+     */
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(42L);
+        boolean adversarial = distribution.equals("adversarial");
+        for (int i = 0; i < SIZE; i++) {
+            int hand;
+            do {
+                hand = PackedHand.of(roll(random), roll(random), roll(random), roll(random), roll(random));
+            } while (adversarial && model.classifyCode(hand) != model.classifyCode(PackedHand.of(1, 2, 3, 4, 6)));
+            hands[i] = hand;
+            lists[i] = PackedHand.toList(hand);
+
+            StringBuilder line = new StringBuilder();
+            for (int die = 0; die < PackedHand.DICE; die++) {
+                line.append(die == 0 ? "" : " ").append(adversarial ? "00" : "").append(PackedHand.die(hand, die));
+            }
+            lines[i] = line.toString();
+            bytes[i] = lines[i].getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    /**
+     * Rolls a single die.
+     *
+     * @param random The generator to draw from.
+     * @return A value in the range 1-6.
+     */
+    private static int roll(SplittableRandom random) {
+        return random.nextInt(6) + 1;
+    }
+}
@@ -0,0 +1,70 @@
+package benchmark;
+
+import model.WrongResultsException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of turning a line of user input into dice values, comparing the
+ * regular expression and {@link utils.ParserUtils#parseStringArray} path with the
+ * single-pass parser. Run with {@code -prof gc} to see the bytes allocated per
+ * operation.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParsingBenchmark {
+
+    /**
+     * Validates the line with a regular expression, splits it and parses the
+     * tokens into boxed integers.
+     *
+     * @param data The shared hands.
+     * @param cursor The position of the calling thread.
+     * @return The parsed values, or null if the line is malformed.
+     * @throws WrongResultsException Never, the lines are valid.
+     */
+    @Benchmark
+    public List<Integer> parseStringArray(HandData data, Cursor cursor) throws WrongResultsException {
+        String line = data.lines[cursor.next()];
+        return line.matches("\\d+(\\s\\d+)*") ? data.parserUtils.parseStringArray(line.split("\\s")) : null;
+    }
+
+    /**
+     * Parses the line into a packed hand.
+     *
+     * @param data The shared hands.
+     * @param cursor The position of the calling thread.
+     * @return The packed hand.
+     */
+    @Benchmark
+    public int parseHandChars(HandData data, Cursor cursor) {
+        return data.parserUtils.parseHand(data.lines[cursor.next()]);
+    }
+
+    /**
+     * Parses the ASCII bytes of the line into a packed hand.
+     *
+     * @param data The shared hands.
+     * @param cursor The position of the calling thread.
+     * @return The packed hand.
+     */
+    @Benchmark
+    public int parseHandBytes(HandData data, Cursor cursor) {
+        byte[] bytes = data.bytes[cursor.next()];
+        return data.parserUtils.parseHand(bytes, 0, bytes.length);
+    }
+}
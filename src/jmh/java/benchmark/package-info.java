@@ -0,0 +1,7 @@
+/**
+ * JMH benchmarks for parsing, validation and classification of dice hands.
+ * Built only with the {@code benchmarks} Maven profile.
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+package benchmark;
@@ -0,0 +1,317 @@
+package controller;
+
+import journal.GameJournal;
+import model.DiceModel;
+import model.HandCategory;
+import model.ValidationError;
+import statistics.CategoryStatistics;
+import utils.HandParser;
+import utils.ParserUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Headless evaluator streaming files of hands through {@link ParserUtils} and
+ * {@link DiceModel}. Files are read in a single pass with fixed-size buffers,
+ * so memory use does not depend on the size of the input.
+ *
+ * <p>Text files hold one hand per line, five dice values separated by
+ * whitespace. Binary files hold one big-endian 16-bit packed hand per record,
+ * as produced by {@link model.PackedHand}.</p>
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class BatchEvaluator {
+
+    /**
+     * Number of binary records classified together.
+     */
+    static final int BATCH_SIZE = 8192;
+
+    /**
+     * Session id of the journal records written by batch runs.
+     */
+    public static final int JOURNAL_SESSION = 0;
+
+    private final DiceModel model;
+    private final ParserUtils parserUtils;
+    private final CategoryStatistics statistics;
+    private final GameJournal journal;
+
+    /**
+     * Constructor for the BatchEvaluator, recording into its own statistics.
+     *
+     * @param model The model handling game logic.
+     * @param parserUtils Utility class for parsing input.
+     */
+    public BatchEvaluator(DiceModel model, ParserUtils parserUtils) {
+        this(model, parserUtils, new CategoryStatistics());
+    }
+
+    /**
+     * Constructor for the BatchEvaluator, recording into shared statistics.
+     *
+     * @param model The model handling game logic.
+     * @param parserUtils Utility class for parsing input.
+     * @param statistics The statistics counting every evaluated hand.
+     */
+    public BatchEvaluator(DiceModel model, ParserUtils parserUtils, CategoryStatistics statistics) {
+        this(model, parserUtils, statistics, null);
+    }
+
+    /**
+     * Constructor for the BatchEvaluator, recording into shared statistics
+     * and appending every valid hand to a journal under session
+     * {@value #JOURNAL_SESSION}.
+     *
+     * @param model The model handling game logic.
+     * @param parserUtils Utility class for parsing input.
+     * @param statistics The statistics counting every evaluated hand.
+     * @param journal The journal receiving the hands, or null.
+     */
+    public BatchEvaluator(DiceModel model, ParserUtils parserUtils, CategoryStatistics statistics,
+                          GameJournal journal) {
+        this.model = model;
+        this.parserUtils = parserUtils;
+        this.statistics = statistics;
+        this.journal = journal;
+    }
+
+    /**
+     * Returns the statistics counting every hand evaluated by this evaluator.
+     *
+     * @return The statistics.
+     */
+    public CategoryStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Evaluates a text file with one hand per line. The file is read in
+     * fixed-size chunks and every line is parsed in place.
+     *
+     * @param input The file to read.
+     * @param output The writer receiving one result line per hand, or null to
+     * collect only the summary.
+     * @return The summary of the evaluated hands.
+     * @throws IOException If the file cannot be read, has a line longer than
+     * the buffer or the output cannot be written.
+     */
+    public BatchSummary evaluateText(Path input, Writer output) throws IOException {
+        BatchSummary summary = new BatchSummary();
+        byte[] bytes = new byte[BATCH_SIZE * Short.BYTES];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            boolean endOfFile = false;
+            while (!endOfFile) {
+                endOfFile = channel.read(buffer) < 0;
+                int end = buffer.position();
+                int lineStart = 0;
+                for (int i = 0; i < end; i++) {
+                    if (bytes[i] == '\n') {
+                        evaluateLine(bytes, lineStart, i, summary, output);
+                        lineStart = i + 1;
+                    }
+                }
+                if (endOfFile) {
+                    evaluateLine(bytes, lineStart, end, summary, output);
+                } else if (lineStart == 0 && end == bytes.length) {
+                    throw new IOException("Line too long in " + input);
+                }
+                buffer.position(lineStart).limit(end);
+                buffer.compact();
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Evaluates a binary file of 16-bit packed hands.
+     *
+     * @param input The file to read.
+     * @param output The writer receiving one result line per hand, or null to
+     * collect only the summary.
+     * @return The summary of the evaluated hands.
+     * @throws IOException If the file cannot be read, has a truncated record
+     * or the output cannot be written.
+     */
+    public BatchSummary evaluateBinary(Path input, Writer output) throws IOException {
+        BatchSummary summary = new BatchSummary();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BATCH_SIZE * Short.BYTES);
+        int[] hands = new int[BATCH_SIZE];
+        byte[] categories = new byte[BATCH_SIZE];
+
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            boolean endOfFile = false;
+            while (!endOfFile) {
+                endOfFile = channel.read(buffer) < 0;
+                buffer.flip();
+                int count = buffer.remaining() / Short.BYTES;
+                for (int i = 0; i < count; i++) {
+                    hands[i] = buffer.getShort() & 0xFFFF;
+                }
+                buffer.compact();
+
+                model.classifyAll(hands, 0, categories, 0, count);
+                for (int i = 0; i < count; i++) {
+                    if (categories[i] < 0) {
+                        statistics.recordError(ValidationError.OUT_OF_RANGE);
+                        summary.addInvalid(ValidationError.OUT_OF_RANGE);
+                        writeLine(output, "Invalid: " + ValidationError.OUT_OF_RANGE.getMessage());
+                    } else {
+                        HandCategory category = HandCategory.fromCode(categories[i]);
+                        statistics.record(category);
+                        summary.add(category);
+                        journal(hands[i], category);
+                        writeLine(output, category.getMessage());
+                    }
+                }
+            }
+        }
+        if (buffer.position() > 0) {
+            throw new IOException("Truncated record at the end of " + input);
+        }
+        return summary;
+    }
+
+    /**
+     * Runs the evaluator from command-line arguments of the form
+     * {@code --batch <file> [--binary] [--summary-only] [--journal <file>]}.
+     * Per-hand results are written to the standard output, followed by the
+     * summary and the throughput. With a journal, every valid hand is also
+     * appended to it. Unknown or incomplete options print the usage.
+     *
+     * @param args Command-line arguments.
+     * @param out The stream receiving the results.
+     * @return The exit status of the run.
+     */
+    public int run(String[] args, PrintStream out) {
+        Path input;
+        boolean binary = false;
+        boolean summaryOnly = false;
+        Path journalFile = null;
+        try {
+            input = Path.of(args[1]);
+            for (int i = 2; i < args.length; i++) {
+                if (args[i].equals("--binary")) {
+                    binary = true;
+                } else if (args[i].equals("--summary-only")) {
+                    summaryOnly = true;
+                } else if (args[i].equals("--journal")) {
+                    journalFile = Path.of(args[++i]);
+                } else {
+                    throw new IllegalArgumentException(args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException ex) {
+            out.println("Usage: --batch <file> [--binary] [--summary-only] [--journal <file>]");
+            return 2;
+        }
+
+        try (GameJournal runJournal = journalFile == null ? null : new GameJournal(journalFile, true)) {
+            BatchEvaluator evaluator = runJournal == null ? this
+                    : new BatchEvaluator(model, parserUtils, statistics, runJournal);
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.US_ASCII), 1 << 16);
+            Writer output = summaryOnly ? null : writer;
+            BatchSummary summary = binary ? evaluator.evaluateBinary(input, output)
+                    : evaluator.evaluateText(input, output);
+            writer.write(summary.toString());
+            writer.write(System.lineSeparator());
+            writer.write(String.format(Locale.ROOT, "Throughput: %.1f hands/s",
+                    statistics.snapshot().getThroughput()));
+            writer.write(System.lineSeparator());
+            writer.flush();
+            return 0;
+        } catch (IOException ex) {
+            out.println("Cannot evaluate " + input + ": " + ex.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Parses and classifies a single line of a text file. Blank lines are
+     * skipped.
+     *
+     * @param bytes The buffer holding the line.
+     * @param from The index of the first byte of the line.
+     * @param to The index after the last byte of the line.
+     * @param summary The summary counting the hand.
+     * @param output The writer, or null.
+     * @throws IOException If the result cannot be written.
+     */
+    private void evaluateLine(byte[] bytes, int from, int to, BatchSummary summary, Writer output)
+            throws IOException {
+        int hand = parserUtils.parseHand(bytes, from, to);
+        if (HandParser.isError(hand)) {
+            if (HandParser.errorOf(hand) == ValidationError.MALFORMED_TOKEN && isBlank(bytes, from, to)) {
+                return;
+            }
+            ValidationError error = HandParser.errorOf(hand);
+            summary.addInvalid(error);
+            statistics.recordError(error);
+            writeLine(output, "Invalid: " + error.getMessage());
+        } else {
+            HandCategory category = HandCategory.fromCode(model.classifyCode(hand));
+            summary.add(category);
+            statistics.record(category);
+            journal(hand, category);
+            writeLine(output, category.getMessage());
+        }
+    }
+
+    /**
+     * Appends a valid hand to the journal if one is present.
+     *
+     * @param hand The packed hand.
+     * @param category The category of the hand.
+     * @throws IOException If the journal cannot be written.
+     */
+    private void journal(int hand, HandCategory category) throws IOException {
+        if (journal != null) {
+            journal.append(JOURNAL_SESSION, hand, category);
+        }
+    }
+
+    /**
+     * Checks if a range of bytes holds only whitespace.
+     *
+     * @param bytes The buffer.
+     * @param from The index of the first byte.
+     * @param to The index after the last byte.
+     * @return True if the range is blank, false otherwise.
+     */
+    private static boolean isBlank(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if ((bytes[i] & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes a single result line if an output is present.
+     *
+     * @param output The writer, or null.
+     * @param line The line to write.
+     * @throws IOException If the line cannot be written.
+     */
+    private static void writeLine(Writer output, String line) throws IOException {
+        if (output != null) {
+            output.write(line);
+            output.write('\n');
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package controller;
+
+import model.HandCategory;
+import model.ValidationError;
+
+/**
+ * Summary of a batch evaluation, counting the hands of every category and
+ * the invalid hands by reason.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class BatchSummary {
+
+    private final long[] counts = new long[HandCategory.values().length];
+    private final long[] errors = new long[ValidationError.values().length];
+    private long invalid;
+
+    /**
+     * Counts a valid hand.
+     *
+     * @param category The category of the hand.
+     */
+    void add(HandCategory category) {
+        counts[category.code()]++;
+    }
+
+    /**
+     * Counts an invalid hand.
+     *
+     * @param error The reason the hand was rejected.
+     */
+    void addInvalid(ValidationError error) {
+        invalid++;
+        errors[error.ordinal()]++;
+    }
+
+    /**
+     * Returns the number of valid hands in a category.
+     *
+     * @param category The category.
+     * @return The number of hands.
+     */
+    public long getCount(HandCategory category) {
+        return counts[category.code()];
+    }
+
+    /**
+     * Returns the number of invalid hands.
+     *
+     * @return The number of hands that could not be evaluated.
+     */
+    public long getInvalid() {
+        return invalid;
+    }
+
+    /**
+     * Returns the number of hands rejected for a reason.
+     *
+     * @param error The reason.
+     * @return The number of hands.
+     */
+    public long getInvalid(ValidationError error) {
+        return errors[error.ordinal()];
+    }
+
+    /**
+     * Returns the number of evaluated hands, valid or not.
+     *
+     * @return The number of hands.
+     */
+    public long getTotal() {
+        long total = invalid;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("Evaluated hands: ").append(getTotal());
+        for (HandCategory category : HandCategory.values()) {
+            text.append(System.lineSeparator()).append(category.getMessage()).append(' ').append(getCount(category));
+        }
+        text.append(System.lineSeparator()).append("Invalid hands: ").append(invalid);
+        for (ValidationError error : ValidationError.values()) {
+            text.append(System.lineSeparator()).append(error.getMessage()).append(' ').append(getInvalid(error));
+        }
+        return text.toString();
+    }
+}
@@ -3,25 +3,54 @@ package controller;
 import view.DiceGUI;
 import javax.swing.SwingUtilities;
 
+import journal.GameJournal;
 import model.DiceModel;
-import model.WrongResultsException;
+import model.PackedHand;
+import statistics.CategoryStatistics;
+import strategy.RerollAdvice;
 import utils.ParserUtils;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.List;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
- * The main controller class for the Dice Game Simulator.
+ * The main controller class for the Dice Game Simulator. When started with
+ * {@code -Ddice.journal=<file>}, every valid hand evaluated by the GUI is
+ * appended to that journal.
  *
  * @author Grzegorz Dziedzic
  * @version 1.3
  */
 public class DiceGameSimulator {
 
-    private DiceGUI gui;
-    private DiceModel model;
-    private ParserUtils parserUtils;
+    /**
+     * Number of hands rolled by the "Roll" button.
+     */
+    static final int ROLL_BATCH = 10_000;
+
+    /**
+     * Session id of the journal records written by the GUI.
+     */
+    public static final int JOURNAL_SESSION = -1;
+
+    private final DiceGUI gui;
+    private final DiceModel model;
+    private final ParserUtils parserUtils;
+    private final GameJournal journal;
+    private final CategoryStatistics statistics = new CategoryStatistics();
+    private final ExecutorService evaluator = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dice-evaluator");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
      * Constructor for the DiceGameSimulator.
@@ -32,9 +61,24 @@ public class DiceGameSimulator {
      * @param args Command-line arguments for initial input.
      */
     public DiceGameSimulator(DiceGUI gui, DiceModel model, ParserUtils parserUtils, String[] args) {
+        this(gui, model, parserUtils, args, null);
+    }
+
+    /**
+     * Constructor for the DiceGameSimulator journaling every valid hand.
+     *
+     * @param gui The graphical user interface.
+     * @param model The model handling game logic.
+     * @param parserUtils Utility class for parsing input.
+     * @param args Command-line arguments for initial input.
+     * @param journal The journal receiving the hands, or null.
+     */
+    public DiceGameSimulator(DiceGUI gui, DiceModel model, ParserUtils parserUtils, String[] args,
+                             GameJournal journal) {
         this.gui = gui;
         this.model = model;
         this.parserUtils = parserUtils;
+        this.journal = journal;
 
         // Fill user input from command-line arguments if provided.
         if (args.length > 0) {
@@ -48,44 +92,110 @@ public class DiceGameSimulator {
                 calculateButtonClicked();
             }
         });
+
+        // Set ActionListeners for the bulk "Roll" and "Import" buttons.
+        gui.setRollButtonListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                rollButtonClicked();
+            }
+        });
+        gui.setImportButtonListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                importButtonClicked();
+            }
+        });
+
+        // Set ActionListener for the "Statistics" button.
+        gui.setStatisticsButtonListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                gui.displayMessage(statistics.snapshot().toString());
+            }
+        });
+
+        // Build the hint tables in the background so hints are lookups on the EDT.
+        evaluator.execute(RerollAdvice::precompute);
     }
 
     /**
-     * Handles the event when the "Calculate" button is clicked.
+     * Handles the event when the "Calculate" button is clicked. The input is
+     * read on the EDT and evaluated in the background; a valid hand is shown
+     * with hints for the rest of the turn.
      */
     private void calculateButtonClicked() {
-        try {
-            // Get user input from the GUI.
-            String userInput = gui.getUserInput();
-
-            // Validate input format using a regular expression.
-            if (userInput.matches("\\d+(\\s\\d+)*")) {
-                // Split the input and process the game results.
-                String[] inputArray = userInput.split("\\s");
-                List<Integer> parsedIntegers = model.processGameResults(parserUtils.parseStringArray(inputArray));
-
-                // Evaluate the game result message and display results in the GUI.
-                String resultMessage = model.evaluateGameResultMessage(parsedIntegers) + " " + gui.displayResults(parsedIntegers);
-                gui.displayMessage(resultMessage);
-                gui.addResultToHistoryList(resultMessage);
-
-            } else {
-                // Display an error message for invalid input.
-                gui.displayError("Invalid input. Please enter valid numbers. Try again.");
+        // Get user input from the GUI and parse it in a single pass.
+        String userInput = gui.getUserInput();
+        evaluate(sink -> sink.accept(parserUtils.parseHand(userInput)));
+    }
+
+    /**
+     * Handles the event when the "Roll" button is clicked by rolling and
+     * evaluating a batch of random hands in the background.
+     */
+    private void rollButtonClicked() {
+        SplittableRandom random = new SplittableRandom();
+        evaluate(sink -> {
+            for (int i = 0; i < ROLL_BATCH; i++) {
+                int hand = 0;
+                for (int die = 0; die < PackedHand.DICE; die++) {
+                    hand |= (random.nextInt(6) + 1) << (die * 3);
+                }
+                sink.accept(hand);
             }
+        });
+    }
 
-        } catch (WrongResultsException ex) {
-            // Display an error message for wrong game results.
-            gui.displayError(ex.getMessage() + " " + " Try again.");
+    /**
+     * Handles the event when the "Import" button is clicked by evaluating
+     * a text file with one hand per line in the background.
+     */
+    private void importButtonClicked() {
+        Path file = gui.chooseImportFile();
+        if (file == null) {
+            return;
         }
+        evaluate(sink -> {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.US_ASCII)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        sink.accept(parserUtils.parseHand(line));
+                    }
+                }
+            }
+        });
     }
 
     /**
-     * The main method to start the Dice Game Simulator application.
+     * Evaluates hands on the background executor. Evaluations run one at a
+     * time, so the history keeps the order in which they were requested.
+     *
+     * @param source The source of the hands.
+     */
+    private void evaluate(EvaluationWorker.HandSource source) {
+        evaluator.execute(new EvaluationWorker(model, statistics, gui, source, journal));
+    }
+
+    /**
+     * The main method to start the Dice Game Simulator application. The
+     * arguments are handled by {@link Launcher#main(String[])}, which starts
+     * the GUI unless they select a headless mode.
      *
      * @param args Command-line arguments.
      */
     public static void main(String[] args) {
+        Launcher.main(args);
+    }
+
+    /**
+     * Creates the GUI on the Event Dispatch Thread and shows it.
+     *
+     * @param args Command-line arguments used as the initial input.
+     */
+    static void startGui(String[] args) {
+        GameJournal journal = openJournal(System.getProperty("dice.journal"));
         SwingUtilities.invokeLater(() -> {
             // Create instances of GUI, model, and utility classes.
             DiceGUI gui = new DiceGUI();
@@ -93,11 +203,39 @@ public class DiceGameSimulator {
             ParserUtils parserUtils = new ParserUtils();
 
             // Create an instance of DiceGameSimulator and set up the GUI.
-            DiceGameSimulator simulator = new DiceGameSimulator(gui, model, parserUtils, args);
+            DiceGameSimulator simulator = new DiceGameSimulator(gui, model, parserUtils, args, journal);
 
             // Pack the GUI and make it visible.
             gui.pack();
             gui.setVisible(true);
         });
     }
+
+    /**
+     * Opens the journal of the GUI, to be committed and closed when the
+     * process stops.
+     *
+     * @param file The path of the journal, or null for none.
+     * @return The journal, or null if none was requested or it cannot be
+     * opened.
+     */
+    private static GameJournal openJournal(String file) {
+        if (file == null) {
+            return null;
+        }
+        try {
+            GameJournal journal = new GameJournal(Path.of(file), true);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    journal.close();
+                } catch (IOException ex) {
+                    System.err.println("Cannot close the journal " + file + ": " + ex.getMessage());
+                }
+            }, "dice-journal"));
+            return journal;
+        } catch (IOException ex) {
+            System.err.println("Cannot open the journal " + file + ": " + ex.getMessage());
+            return null;
+        }
+    }
 }
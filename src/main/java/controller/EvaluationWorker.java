@@ -0,0 +1,232 @@
+package controller;
+
+import journal.GameJournal;
+import metrics.LatencyHistogram;
+import metrics.Metrics;
+import model.DiceModel;
+import model.HandCategory;
+import model.PackedHand;
+import model.ValidationError;
+import statistics.CategoryStatistics;
+import strategy.RerollAdvice;
+import strategy.RerollSolver;
+import utils.HandParser;
+import view.DiceGUI;
+
+import javax.swing.SwingWorker;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.IntConsumer;
+
+/**
+ * Background task evaluating hands off the Event Dispatch Thread. Hands are
+ * classified in the background and published to the GUI in chunks, which
+ * Swing coalesces further when the EDT is busy, so bulk rolls and imports do
+ * not block the interface. With a journal, every valid hand is also appended
+ * to it under session {@value DiceGameSimulator#JOURNAL_SESSION}.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+class EvaluationWorker extends SwingWorker<BatchSummary, EvaluationWorker.Chunk> {
+
+    /**
+     * Number of hands published to the GUI together.
+     */
+    static final int CHUNK_SIZE = 1024;
+
+    /**
+     * Latencies of whole evaluations in the background, recorded when
+     * metrics are enabled.
+     */
+    private static final LatencyHistogram EVALUATE_TIMER = Metrics.timer("gui.evaluate");
+
+    /**
+     * Latencies of adding published chunks to the history on the EDT,
+     * recorded when metrics are enabled.
+     */
+    private static final LatencyHistogram PUBLISH_TIMER = Metrics.timer("gui.publish");
+
+    /**
+     * Source of parse results to evaluate, as returned by
+     * {@link HandParser}.
+     */
+    @FunctionalInterface
+    interface HandSource {
+
+        /**
+         * Passes every parse result of the source to the sink.
+         *
+         * @param sink The consumer of packed hands or encoded errors.
+         * @throws IOException If the source cannot be read.
+         */
+        void forEach(IntConsumer sink) throws IOException;
+    }
+
+    /**
+     * Hands evaluated in the background, waiting to be shown.
+     */
+    static final class Chunk {
+
+        private final int[] hands = new int[CHUNK_SIZE];
+        private final byte[] categories = new byte[CHUNK_SIZE];
+        private int length;
+    }
+
+    private final DiceModel model;
+    private final CategoryStatistics statistics;
+    private final DiceGUI gui;
+    private final HandSource source;
+    private final GameJournal journal;
+    private Chunk chunk = new Chunk();
+    private int lastResult;
+
+    /**
+     * Constructs a worker.
+     *
+     * @param model The model classifying the hands.
+     * @param statistics The statistics counting every hand.
+     * @param gui The GUI receiving the results.
+     * @param source The source of the hands.
+     */
+    EvaluationWorker(DiceModel model, CategoryStatistics statistics, DiceGUI gui, HandSource source) {
+        this(model, statistics, gui, source, null);
+    }
+
+    /**
+     * Constructs a worker journaling the valid hands.
+     *
+     * @param model The model classifying the hands.
+     * @param statistics The statistics counting every hand.
+     * @param gui The GUI receiving the results.
+     * @param source The source of the hands.
+     * @param journal The journal receiving the hands, or null.
+     */
+    EvaluationWorker(DiceModel model, CategoryStatistics statistics, DiceGUI gui, HandSource source,
+                     GameJournal journal) {
+        this.model = model;
+        this.statistics = statistics;
+        this.gui = gui;
+        this.source = source;
+        this.journal = journal;
+    }
+
+    /**
+     * Evaluates every hand of the source, publishing them in chunks.
+     *
+     * @return The summary of the evaluated hands.
+     * @throws IOException If the source cannot be read or the journal cannot
+     * be written.
+     */
+    @Override
+    protected BatchSummary doInBackground() throws IOException {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+        BatchSummary summary = new BatchSummary();
+        try {
+            source.forEach(result -> evaluate(result, summary));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        if (chunk.length > 0) {
+            publish(chunk);
+        }
+        if (Metrics.ENABLED) {
+            EVALUATE_TIMER.record(System.nanoTime() - start);
+            Metrics.counter("gui.hands").add(summary.getTotal());
+        }
+        return summary;
+    }
+
+    /**
+     * Adds published chunks to the history on the EDT.
+     *
+     * @param chunks The chunks published since the last call.
+     */
+    @Override
+    protected void process(List<Chunk> chunks) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+        for (Chunk published : chunks) {
+            gui.addResultsToHistoryList(published.hands, published.categories, published.length);
+        }
+        if (Metrics.ENABLED) {
+            PUBLISH_TIMER.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Shows the result in the results pane on the EDT: the hand itself and
+     * hints for the rest of the turn for a single hand, the summary
+     * otherwise.
+     */
+    @Override
+    protected void done() {
+        BatchSummary summary;
+        try {
+            summary = get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException ex) {
+            gui.displayError("Cannot evaluate hands: " + ex.getCause().getMessage());
+            return;
+        }
+
+        if (summary.getTotal() != 1) {
+            gui.clearHints();
+            gui.displayMessage(summary.toString());
+        } else if (HandParser.isError(lastResult)) {
+            ValidationError error = HandParser.errorOf(lastResult);
+            gui.clearHints();
+            if (error == ValidationError.MALFORMED_TOKEN) {
+                // Display an error message for invalid input.
+                gui.displayError("Invalid input. Please enter valid numbers. Try again.");
+            } else {
+                gui.displayError(error.getMessage() + " " + " Try again.");
+            }
+        } else {
+            int sortedHand = PackedHand.sort(lastResult);
+            gui.displayMessage(gui.displayResult(sortedHand, model.classify(sortedHand)));
+            // An entered hand is taken as the first roll of a turn; the advice is a lookup.
+            gui.displayHints(RerollAdvice.of(sortedHand, RerollSolver.MAX_REROLLS));
+        }
+    }
+
+    /**
+     * Evaluates a single parse result in the background.
+     *
+     * @param result The packed hand or encoded error.
+     * @param summary The summary counting the hand.
+     * @throws UncheckedIOException If the journal cannot be written.
+     */
+    private void evaluate(int result, BatchSummary summary) {
+        lastResult = result;
+        if (HandParser.isError(result)) {
+            ValidationError error = HandParser.errorOf(result);
+            statistics.recordError(error);
+            summary.addInvalid(error);
+            return;
+        }
+
+        int sortedHand = PackedHand.sort(result);
+        int code = model.classifyCode(sortedHand);
+        statistics.recordCode(code);
+        HandCategory category = HandCategory.fromCode(code);
+        summary.add(category);
+        if (journal != null) {
+            try {
+                journal.append(DiceGameSimulator.JOURNAL_SESSION, result, category);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        chunk.hands[chunk.length] = sortedHand;
+        chunk.categories[chunk.length] = (byte) code;
+        chunk.length++;
+        if (chunk.length == CHUNK_SIZE) {
+            publish(chunk);
+            chunk = new Chunk();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package controller;
+
+import journal.JournalReader;
+import model.DiceModel;
+import server.GameServer;
+import tournament.Tournament;
+import utils.ParserUtils;
+
+/**
+ * Entry point of the Dice Game Simulator. The headless modes are selected
+ * by the first argument: {@code --batch <file>} evaluates a file, see
+ * {@link BatchEvaluator#run(String[], java.io.PrintStream)},
+ * {@code --replay <journal>} replays a journal, see
+ * {@link JournalReader#run(String[], java.io.PrintStream)},
+ * {@code --server <port>} starts a game server, see
+ * {@link GameServer#run(String[], java.io.PrintStream)}, and
+ * {@code --tournament <games>} plays a tournament between strategies, see
+ * {@link Tournament#run(String[], java.io.PrintStream)}. Any other
+ * arguments start the GUI with {@link DiceGameSimulator}.
+ *
+ * <p>This class refers to no AWT or Swing type, so the headless modes never
+ * load the desktop classes, which dominate the startup of the GUI.</p>
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class Launcher {
+
+    /**
+     * Prevents instantiation of this class.
+     */
+    private Launcher() {
+    }
+
+    /**
+     * Runs the mode selected by the arguments, exiting with the status of a
+     * headless mode if it failed.
+     *
+     * @param args Command-line arguments.
+     */
+    public static void main(String[] args) {
+        String mode = args.length > 0 ? args[0] : "";
+        int status;
+        switch (mode) {
+            case "--batch":
+                status = new BatchEvaluator(new DiceModel(), new ParserUtils()).run(args, System.out);
+                break;
+            case "--replay":
+                status = JournalReader.run(args, System.out);
+                break;
+            case "--server":
+                status = GameServer.run(args, System.out);
+                break;
+            case "--tournament":
+                status = Tournament.run(args, System.out);
+                break;
+            default:
+                DiceGameSimulator.startGui(args);
+                return;
+        }
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+}
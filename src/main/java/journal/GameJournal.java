@@ -0,0 +1,216 @@
+package journal;
+
+import model.HandCategory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only journal of evaluated rolls, written as fixed-width binary
+ * records (see {@link JournalReader} for reading them back). Any number of
+ * threads may append at the same time.
+ *
+ * <p>Writes are group committed: appended records collect in a memory buffer
+ * and are written to the {@link FileChannel} together, with a single write
+ * call, when the buffer is full or {@link #commit()} is called. Two buffers
+ * are used, so threads keep appending to one while the other is written.
+ * If the journal is durable, every commit also forces the data to the
+ * storage device, which is then paid once per group instead of once per
+ * record.</p>
+ *
+ * <p>If a group cannot be written, the journal fails: the records of that
+ * group are lost, the part of it that was written is truncated away if
+ * possible, nothing after it reaches the file, and every later append or
+ * commit throws an {@link IOException}.</p>
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class GameJournal implements AutoCloseable {
+
+    /**
+     * Number of records collected before they are written together.
+     */
+    public static final int GROUP_SIZE = 4096;
+
+    private final FileChannel channel;
+    private final boolean durable;
+    private final Object writeLock = new Object();
+    private ByteBuffer active = newBuffer();
+    private ByteBuffer writing = newBuffer();
+    private long position;
+    private volatile IOException failure;
+
+    /**
+     * Opens a journal for appending, creating it if it does not exist. A
+     * partial record left at the end by a crash is truncated.
+     *
+     * @param file The journal file.
+     * @param durable True to force every commit to the storage device.
+     * @throws IOException If the file cannot be opened or is not a journal.
+     */
+    public GameJournal(Path file, boolean durable) throws IOException {
+        this(file, FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE), durable);
+    }
+
+    /**
+     * Opens a journal for appending on an open channel.
+     *
+     * @param file The journal file, for error messages.
+     * @param channel The channel of the file, closed if the journal cannot be
+     * opened.
+     * @param durable True to force every commit to the storage device.
+     * @throws IOException If the file cannot be read or is not a journal.
+     */
+    GameJournal(Path file, FileChannel channel, boolean durable) throws IOException {
+        this.durable = durable;
+        this.channel = channel;
+        try {
+            if (channel.size() > 0) {
+                long records = JournalFormat.recover(channel, file);
+                position = JournalFormat.HEADER_SIZE + records * JournalFormat.RECORD_SIZE;
+            } else {
+                ByteBuffer header = JournalFormat.header();
+                while (header.hasRemaining()) {
+                    position += channel.write(header, position);
+                }
+            }
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Appends a record of an evaluated roll, writing the current group if it
+     * is full.
+     *
+     * @param session The id of the session that rolled the hand.
+     * @param hand The packed hand, with the dice in the order evaluated.
+     * @param category The category of the hand.
+     * @throws IOException If a full group cannot be written.
+     */
+    public void append(int session, int hand, HandCategory category) throws IOException {
+        append(System.currentTimeMillis(), session, hand, category.code());
+    }
+
+    /**
+     * Appends a record with an explicit timestamp and category code.
+     *
+     * @param timestamp The time of the roll in milliseconds since the epoch.
+     * @param session The id of the session that rolled the hand.
+     * @param hand The packed hand, with the dice in the order evaluated.
+     * @param categoryCode The category code of the hand.
+     * @throws IOException If a full group cannot be written.
+     */
+    public void append(long timestamp, int session, int hand, int categoryCode) throws IOException {
+        while (true) {
+            checkFailure();
+            boolean full;
+            synchronized (this) {
+                if (active.hasRemaining()) {
+                    active.putLong(timestamp).putInt(session).putShort((short) hand)
+                            .put((byte) categoryCode).put((byte) 0);
+                    if (active.hasRemaining()) {
+                        return;
+                    }
+                    full = true;
+                } else {
+                    full = false;
+                }
+            }
+            // Either this record filled the group or another thread is
+            // writing it; in both cases help commit and retry if needed.
+            commit();
+            if (full) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes every appended record to the file, forcing it to the storage
+     * device if the journal is durable.
+     *
+     * @throws IOException If the records cannot be written; the journal has
+     * then failed.
+     */
+    public void commit() throws IOException {
+        synchronized (writeLock) {
+            checkFailure();
+            ByteBuffer group;
+            synchronized (this) {
+                if (active.position() == 0) {
+                    return;
+                }
+                group = active;
+                active = writing;
+                writing = group;
+            }
+            // The position only moves past a group that was written whole.
+            long next = position;
+            group.flip();
+            try {
+                while (group.hasRemaining()) {
+                    next += channel.write(group, next);
+                }
+                if (durable) {
+                    channel.force(false);
+                }
+                position = next;
+            } catch (IOException ex) {
+                failure = ex;
+                try {
+                    // Drop the part of the group that did reach the file.
+                    channel.truncate(position);
+                } catch (IOException truncateEx) {
+                    ex.addSuppressed(truncateEx);
+                }
+                throw ex;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    /**
+     * Commits the remaining records and closes the file.
+     *
+     * @throws IOException If the records cannot be written or the file cannot
+     * be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            commit();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Throws if an earlier group could not be written.
+     *
+     * @throws IOException If the journal has failed.
+     */
+    private void checkFailure() throws IOException {
+        IOException cause = failure;
+        if (cause != null) {
+            throw new IOException("Journal failed after a write error", cause);
+        }
+    }
+
+    /**
+     * Allocates the buffer of a group.
+     *
+     * @return An empty buffer holding one group.
+     */
+    private static ByteBuffer newBuffer() {
+        return ByteBuffer.allocateDirect(GROUP_SIZE * JournalFormat.RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,133 @@
+package journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * Layout of a journal file: a 16-byte header followed by fixed-width
+ * little-endian records of 16 bytes each.
+ *
+ * <pre>
+ * offset 0  long  timestamp in milliseconds since the epoch
+ * offset 8  int   session id
+ * offset 12 short packed hand, dice in the order they were evaluated
+ * offset 14 byte  category code
+ * offset 15 byte  reserved, zero
+ * </pre>
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+final class JournalFormat {
+
+    /**
+     * Marker at the start of a journal.
+     */
+    static final int MAGIC = 0x594A524E;
+
+    /**
+     * Version of the file format.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Length of the file header in bytes.
+     */
+    static final int HEADER_SIZE = 16;
+
+    /**
+     * Length of a record in bytes.
+     */
+    static final int RECORD_SIZE = 16;
+
+    /**
+     * Offset of the session id in a record.
+     */
+    static final int SESSION_OFFSET = 8;
+
+    /**
+     * Offset of the packed hand in a record.
+     */
+    static final int HAND_OFFSET = 12;
+
+    /**
+     * Offset of the category code in a record.
+     */
+    static final int CATEGORY_OFFSET = 14;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private JournalFormat() {
+    }
+
+    /**
+     * Creates the header of a new journal.
+     *
+     * @return The header, ready to be written.
+     */
+    static ByteBuffer header() {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putInt(0);
+        return header.flip();
+    }
+
+    /**
+     * Checks the header and size of an existing journal for replay.
+     *
+     * @param channel The open journal.
+     * @param file The path of the journal, for error messages.
+     * @return The number of records in the journal.
+     * @throws IOException If the file is not a journal or ends with a
+     * truncated record.
+     */
+    static long checkHeader(FileChannel channel, Path file) throws IOException {
+        checkMagic(channel, file);
+        long recordBytes = channel.size() - HEADER_SIZE;
+        if (recordBytes % RECORD_SIZE != 0) {
+            throw new IOException("Truncated record at the end of " + file);
+        }
+        return recordBytes / RECORD_SIZE;
+    }
+
+    /**
+     * Checks the header of an existing journal opened for appending, and
+     * truncates a partial record left at its end by an interrupted write.
+     *
+     * @param channel The journal, open for writing.
+     * @param file The path of the journal, for error messages.
+     * @return The number of whole records in the journal.
+     * @throws IOException If the file is not a journal or cannot be
+     * truncated.
+     */
+    static long recover(FileChannel channel, Path file) throws IOException {
+        checkMagic(channel, file);
+        long records = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+        long end = HEADER_SIZE + records * RECORD_SIZE;
+        if (channel.size() > end) {
+            channel.truncate(end);
+        }
+        return records;
+    }
+
+    /**
+     * Checks that a file starts with the header of a journal.
+     *
+     * @param channel The open file.
+     * @param file The path of the file, for error messages.
+     * @throws IOException If the file is not a journal.
+     */
+    private static void checkMagic(FileChannel channel, Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // Keep reading until the header is complete or the file ends.
+        }
+        if (header.hasRemaining() || header.getInt(0) != MAGIC || header.getInt(4) != VERSION
+                || header.getInt(8) != RECORD_SIZE) {
+            throw new IOException("Not a game journal: " + file);
+        }
+    }
+}
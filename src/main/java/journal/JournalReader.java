@@ -0,0 +1,161 @@
+package journal;
+
+import model.DiceModel;
+import model.HandCategory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Replay of a journal written by {@link GameJournal}. The file is memory
+ * mapped, in segments of at most 1 GiB, and the records are read straight
+ * from the mapping without copying or decoding into objects.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class JournalReader {
+
+    /**
+     * Number of records in a mapped segment.
+     */
+    private static final int SEGMENT_RECORDS = (1 << 30) / JournalFormat.RECORD_SIZE;
+
+    /**
+     * Receiver of replayed records.
+     */
+    @FunctionalInterface
+    public interface RecordVisitor {
+
+        /**
+         * Receives a single record.
+         *
+         * @param timestamp The time of the roll in milliseconds since the
+         * epoch.
+         * @param session The id of the session that rolled the hand.
+         * @param hand The packed hand.
+         * @param categoryCode The recorded category code.
+         */
+        void visit(long timestamp, int session, int hand, int categoryCode);
+    }
+
+    private final Path file;
+
+    /**
+     * Constructs a reader of a journal.
+     *
+     * @param file The journal file.
+     */
+    public JournalReader(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Passes every record of the journal, in order, to a visitor.
+     *
+     * @param visitor The visitor.
+     * @return The number of records.
+     * @throws IOException If the file cannot be read or is not a journal.
+     */
+    public long forEach(RecordVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long records = JournalFormat.checkHeader(channel, file);
+            for (long first = 0; first < records; first += SEGMENT_RECORDS) {
+                int count = (int) Math.min(SEGMENT_RECORDS, records - first);
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY,
+                        JournalFormat.HEADER_SIZE + first * JournalFormat.RECORD_SIZE,
+                        (long) count * JournalFormat.RECORD_SIZE);
+                segment.order(ByteOrder.LITTLE_ENDIAN);
+                int end = count * JournalFormat.RECORD_SIZE;
+                for (int offset = 0; offset < end; offset += JournalFormat.RECORD_SIZE) {
+                    visitor.visit(segment.getLong(offset),
+                            segment.getInt(offset + JournalFormat.SESSION_OFFSET),
+                            segment.getShort(offset + JournalFormat.HAND_OFFSET) & 0xFFFF,
+                            segment.get(offset + JournalFormat.CATEGORY_OFFSET));
+                }
+            }
+            return records;
+        }
+    }
+
+    /**
+     * Counts the recorded hands of every category.
+     *
+     * @return The number of records per category code; records with an
+     * unknown code are not counted.
+     * @throws IOException If the file cannot be read or is not a journal.
+     */
+    public long[] countByCategory() throws IOException {
+        long[] counts = new long[HandCategory.values().length];
+        forEach((timestamp, session, hand, categoryCode) -> {
+            if (categoryCode >= 0 && categoryCode < counts.length) {
+                counts[categoryCode]++;
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * Re-evaluates every recorded hand and compares the result with the
+     * recorded category.
+     *
+     * @param model The model evaluating the hands.
+     * @return The number of records whose hand is invalid or whose recorded
+     * category differs.
+     * @throws IOException If the file cannot be read or is not a journal.
+     */
+    public long verify(DiceModel model) throws IOException {
+        long[] mismatches = new long[1];
+        forEach((timestamp, session, hand, categoryCode) -> {
+            if (model.classifyCode(hand) != categoryCode) {
+                mismatches[0]++;
+            }
+        });
+        return mismatches[0];
+    }
+
+    /**
+     * Runs a replay from command-line arguments of the form
+     * {@code --replay <file>}, printing the number of records of every
+     * category and of records that no longer verify. Missing, extra or
+     * invalid arguments print the usage.
+     *
+     * @param args Command-line arguments.
+     * @param out The stream receiving the results.
+     * @return The exit status of the run.
+     */
+    public static int run(String[] args, PrintStream out) {
+        Path file;
+        try {
+            file = Path.of(args[1]);
+            if (args.length > 2) {
+                throw new IllegalArgumentException(args[2]);
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException ex) {
+            out.println("Usage: --replay <file>");
+            return 2;
+        }
+        JournalReader reader = new JournalReader(file);
+        try {
+            long[] counts = reader.countByCategory();
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            out.println("Journal records: " + total);
+            for (HandCategory category : HandCategory.values()) {
+                out.println(category.getMessage() + " " + counts[category.code()]);
+            }
+            out.println("Mismatched records: " + reader.verify(new DiceModel()));
+            return 0;
+        } catch (IOException ex) {
+            out.println("Cannot replay " + args[1] + ": " + ex.getMessage());
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * Provides an append-only binary journal of evaluated rolls and its replay.
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+package journal;
@@ -0,0 +1,149 @@
+package metrics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of the metrics recorded on the hot paths: latency histograms
+ * and operation counts by name, and rejected hands by reason.
+ *
+ * <p>Metrics are off unless the JVM is started with
+ * {@code -Ddice.metrics=true}. Instrumented code guards every recording with
+ * {@link #ENABLED}, a constant the JIT folds away, so the disabled layer
+ * costs nothing but the unused registry. When enabled,
+ * {@code -Ddice.metrics.file=<file>} writes the metrics to a text file, or
+ * a JSON file if its name ends with {@code .json}, when the JVM exits, and
+ * {@code -Ddice.metrics.jmx=true} publishes them as the MXBean
+ * {@value MetricsExporter#OBJECT_NAME}.</p>
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class Metrics {
+
+    /**
+     * Whether metrics are recorded, from the {@code dice.metrics} system
+     * property.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("dice.metrics");
+
+    private static final Map<String, LatencyHistogram> TIMERS = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> REJECTIONS = new ConcurrentHashMap<>();
+
+    static {
+        if (ENABLED) {
+            String file = System.getProperty("dice.metrics.file");
+            if (file != null) {
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> export(Path.of(file)), "dice-metrics"));
+            }
+            if (Boolean.getBoolean("dice.metrics.jmx")) {
+                MetricsExporter.registerMBean();
+            }
+        }
+    }
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Returns the latency histogram of an operation, creating it on first
+     * use. Hot paths should keep the histogram in a static field.
+     *
+     * @param name The name of the operation.
+     * @return The histogram.
+     */
+    public static LatencyHistogram timer(String name) {
+        return TIMERS.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Returns the counter of an operation, creating it on first use.
+     *
+     * @param name The name of the operation.
+     * @return The counter.
+     */
+    public static LongAdder counter(String name) {
+        return COUNTERS.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * Counts a rejected hand.
+     *
+     * @param reason The reason of the rejection, such as the message of a
+     * {@code WrongResultsException} or {@code ValidationError}.
+     */
+    public static void reject(String reason) {
+        REJECTIONS.computeIfAbsent(String.valueOf(reason), key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Returns the latency histograms sorted by name.
+     *
+     * @return A copy of the registry.
+     */
+    static Map<String, LatencyHistogram> timers() {
+        return new TreeMap<>(TIMERS);
+    }
+
+    /**
+     * Returns the current value of every counter, sorted by name.
+     *
+     * @return The counts.
+     */
+    static Map<String, Long> counters() {
+        return sums(COUNTERS);
+    }
+
+    /**
+     * Returns the current number of rejections of every reason, sorted by
+     * reason.
+     *
+     * @return The counts.
+     */
+    static Map<String, Long> rejections() {
+        return sums(REJECTIONS);
+    }
+
+    /**
+     * Clears every metric.
+     */
+    static void reset() {
+        TIMERS.clear();
+        COUNTERS.clear();
+        REJECTIONS.clear();
+    }
+
+    /**
+     * Writes the metrics to a file, logging failures since the JVM is
+     * exiting.
+     *
+     * @param file The file.
+     */
+    private static void export(Path file) {
+        try {
+            MetricsExporter.write(file);
+        } catch (IOException ex) {
+            System.err.println("Cannot write metrics to " + file + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Sums a map of adders.
+     *
+     * @param adders The adders by name.
+     * @return The sums sorted by name.
+     */
+    private static Map<String, Long> sums(Map<String, LongAdder> adders) {
+        Map<String, Long> sums = new TreeMap<>();
+        adders.forEach((name, adder) -> sums.put(name, adder.sum()));
+        return sums;
+    }
+}
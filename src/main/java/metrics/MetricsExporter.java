@@ -0,0 +1,237 @@
+package metrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exports the {@link Metrics} as text, JSON or a JMX MXBean. Exports are
+ * taken while recording goes on, so figures of different metrics may be a
+ * few recordings apart.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class MetricsExporter {
+
+    /**
+     * Object name of the MXBean.
+     */
+    public static final String OBJECT_NAME = "dice:type=Metrics";
+
+    /**
+     * Percentiles reported for every latency histogram.
+     */
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private MetricsExporter() {
+    }
+
+    /**
+     * Formats the metrics as text, one metric per line.
+     *
+     * @return The text.
+     */
+    public static String toText() {
+        StringBuilder text = new StringBuilder("Latencies (ns):");
+        Metrics.timers().forEach((name, histogram) -> {
+            text.append(System.lineSeparator()).append(name)
+                    .append(" count=").append(histogram.getCount())
+                    .append(" mean=").append(String.format(Locale.ROOT, "%.1f", histogram.getMean()));
+            for (double percentile : PERCENTILES) {
+                text.append(" p").append(label(percentile)).append('=')
+                        .append(histogram.getValueAtPercentile(percentile));
+            }
+            text.append(" max=").append(histogram.getMax());
+        });
+        text.append(System.lineSeparator()).append("Counters:");
+        Metrics.counters().forEach((name, count) ->
+                text.append(System.lineSeparator()).append(name).append(' ').append(count));
+        text.append(System.lineSeparator()).append("Rejections:");
+        Metrics.rejections().forEach((reason, count) ->
+                text.append(System.lineSeparator()).append(reason).append(' ').append(count));
+        return text.toString();
+    }
+
+    /**
+     * Formats the metrics as a JSON object with the members
+     * {@code latencies}, {@code counters} and {@code rejections}.
+     *
+     * @return The JSON document.
+     */
+    public static String toJson() {
+        StringBuilder json = new StringBuilder("{\"latencies\":{");
+        Iterator<Map.Entry<String, LatencyHistogram>> timers = Metrics.timers().entrySet().iterator();
+        while (timers.hasNext()) {
+            Map.Entry<String, LatencyHistogram> entry = timers.next();
+            LatencyHistogram histogram = entry.getValue();
+            appendString(json, entry.getKey());
+            json.append(":{\"count\":").append(histogram.getCount())
+                    .append(",\"mean\":").append(String.format(Locale.ROOT, "%.1f", histogram.getMean()));
+            for (double percentile : PERCENTILES) {
+                json.append(",\"p").append(label(percentile)).append("\":")
+                        .append(histogram.getValueAtPercentile(percentile));
+            }
+            json.append(",\"max\":").append(histogram.getMax()).append('}');
+            if (timers.hasNext()) {
+                json.append(',');
+            }
+        }
+        json.append("},\"counters\":");
+        appendCounts(json, Metrics.counters());
+        json.append(",\"rejections\":");
+        appendCounts(json, Metrics.rejections());
+        return json.append('}').toString();
+    }
+
+    /**
+     * Writes the metrics to a file, as JSON if its name ends with
+     * {@code .json} and as text otherwise.
+     *
+     * @param file The file, replaced if it exists.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path file) throws IOException {
+        boolean json = file.getFileName().toString().endsWith(".json");
+        Files.writeString(file, (json ? toJson() : toText()) + System.lineSeparator(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Registers the MXBean with the platform MBean server, unless it is
+     * already registered.
+     */
+    static void registerMBean() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsBean(), name);
+            }
+        } catch (JMException ex) {
+            System.err.println("Cannot register metrics MXBean: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Formats a percentile for a metric name, such as {@code 99.9} or
+     * {@code 50}.
+     *
+     * @param percentile The percentile.
+     * @return The label.
+     */
+    private static String label(double percentile) {
+        return percentile == Math.rint(percentile)
+                ? Long.toString((long) percentile) : Double.toString(percentile);
+    }
+
+    /**
+     * Appends a map of counts as a JSON object.
+     *
+     * @param json The JSON being built.
+     * @param counts The counts by name.
+     */
+    private static void appendCounts(StringBuilder json, Map<String, Long> counts) {
+        json.append('{');
+        Iterator<Map.Entry<String, Long>> entries = counts.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, Long> entry = entries.next();
+            appendString(json, entry.getKey());
+            json.append(':').append(entry.getValue());
+            if (entries.hasNext()) {
+                json.append(',');
+            }
+        }
+        json.append('}');
+    }
+
+    /**
+     * Appends a JSON string literal.
+     *
+     * @param json The JSON being built.
+     * @param value The string.
+     */
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * MXBean reading the registry on every access.
+     */
+    private static final class MetricsBean implements MetricsMXBean {
+
+        /**
+         * Returns the number of recorded latencies of every operation.
+         *
+         * @return The counts by operation.
+         */
+        @Override
+        public Map<String, Long> getOperationCounts() {
+            Map<String, Long> counts = new TreeMap<>();
+            Metrics.timers().forEach((name, histogram) -> counts.put(name, histogram.getCount()));
+            return counts;
+        }
+
+        /**
+         * Returns the 99th percentile latency of every operation.
+         *
+         * @return The latencies in nanoseconds by operation.
+         */
+        @Override
+        public Map<String, Long> getP99Nanos() {
+            Map<String, Long> latencies = new TreeMap<>();
+            Metrics.timers().forEach((name, histogram) -> latencies.put(name, histogram.getValueAtPercentile(99)));
+            return latencies;
+        }
+
+        /**
+         * Returns the counters.
+         *
+         * @return The counts by name.
+         */
+        @Override
+        public Map<String, Long> getCounters() {
+            return Metrics.counters();
+        }
+
+        /**
+         * Returns the number of rejected hands of every reason.
+         *
+         * @return The counts by reason.
+         */
+        @Override
+        public Map<String, Long> getRejections() {
+            return Metrics.rejections();
+        }
+
+        /**
+         * Returns every metric as JSON.
+         *
+         * @return The JSON document.
+         */
+        @Override
+        public String getJson() {
+            return toJson();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface publishing the metrics over JMX.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public interface MetricsMXBean {
+
+    /**
+     * Returns the number of recorded latencies of every operation.
+     *
+     * @return The counts by operation.
+     */
+    Map<String, Long> getOperationCounts();
+
+    /**
+     * Returns the 99th percentile latency of every operation.
+     *
+     * @return The latencies in nanoseconds by operation.
+     */
+    Map<String, Long> getP99Nanos();
+
+    /**
+     * Returns the counters.
+     *
+     * @return The counts by name.
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Returns the number of rejected hands of every reason.
+     *
+     * @return The counts by reason.
+     */
+    Map<String, Long> getRejections();
+
+    /**
+     * Returns every metric as JSON.
+     *
+     * @return The JSON document.
+     */
+    String getJson();
+}
@@ -0,0 +1,6 @@
+/**
+ * Provides optional instrumentation of the hot paths and its export.
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+package metrics;
@@ -1,179 +1,432 @@
 package model;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import metrics.LatencyHistogram;
+import metrics.Metrics;
+import rules.GameRules;
+import rules.RuleTable;
+
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
-/**
- * Functional interface defining a strategy for processing a list of integer
- * results.
- */
-interface ResultProcessor {
-
-    /**
-     * Processes the given list of integer results according to the specified
-     * strategy.
-     *
-     * @param results The list of results to be processed.
-     * @return The processed list of integer results.
-     */
-    List<Integer> processResults(List<Integer> results);
-}
-
 /**
  * Class representing the model of a dice game. Encapsulates logic for
  * processing input arguments, validation, and storing results of a dice game.
  *
+ * <p>The game is described by {@link GameRules}: the number of dice, their
+ * faces and the combinations. The default model plays
+ * {@link GameRules#standard()}, whose hands are the 15-bit
+ * {@link PackedHand}s classified into {@link HandCategory}s. A model of a
+ * variant validates and classifies hands packed by its {@link RuleTable},
+ * identifies combinations by code with {@link #getMessage(int)}, and has no
+ * {@link HandCategory} or Yatzee scores.</p>
+ *
+ * <p>Instances are immutable and thread-safe: the model holds only its rules
+ * and their compiled table, and the lookup tables it reads are built once,
+ * in static initializers or the constructor, and published safely to every
+ * thread by final fields and the class loading rules. Methods never write to
+ * shared state, and the bulk methods write only to buffers supplied by the
+ * caller, so a single instance can be shared by any number of threads
+ * without synchronization as long as each thread uses its own buffers.</p>
+ *
  * @author Grzegorz Dziedzic
  * @version 1.3
  */
-public class DiceModel {
+public final class DiceModel {
+
+    /**
+     * Latencies of {@link #validate(int)}, which every validation of a hand
+     * goes through, recorded when metrics are enabled.
+     */
+    private static final LatencyHistogram VALIDATE_TIMER = Metrics.timer("model.validate");
+
+    /**
+     * Compiled standard rules, shared by every model of the standard game.
+     */
+    private static final RuleTable STANDARD_TABLE = GameRules.standard().compile();
+
+    private final GameRules rules;
+    private final RuleTable table;
+    private final boolean standard;
+
+    /**
+     * Constructs a model of the standard game.
+     */
+    public DiceModel() {
+        this(GameRules.standard());
+    }
+
+    /**
+     * Constructs a model of a game variant, compiling its rules.
+     *
+     * @param rules The rules of the game.
+     */
+    public DiceModel(GameRules rules) {
+        this.rules = rules;
+        this.standard = rules == GameRules.standard();
+        this.table = standard ? STANDARD_TABLE : rules.compile();
+    }
+
+    /**
+     * Returns the rules of the game.
+     *
+     * @return The rules.
+     */
+    public GameRules getRules() {
+        return rules;
+    }
 
     /**
      * Checks if the given integer is within the valid dice face range.
      *
      * @param parsedInt The integer to check.
-     * @return True if the integer is within the range (1-6), false otherwise.
+     * @return True if the integer is within the range of the faces, false
+     * otherwise.
      */
     private boolean isArgumentInRange(int parsedInt) {
-        return (parsedInt > 0 && parsedInt < 7);
+        return parsedInt > 0 && parsedInt <= rules.getFaces();
     }
 
     /**
-     * Checks if the list has exactly five elements.
+     * Checks if the list has one element for every die.
      *
      * @param args The list to check.
-     * @return True if the list has five elements, false otherwise.
+     * @return True if the list has as many elements as the game has dice,
+     * false otherwise.
      */
-    private boolean hasFiveElements(List<Integer> args) {
-        return args.size() == 5;
+    private boolean hasAllDice(List<Integer> args) {
+        return args.size() == rules.getDice();
+    }
+
+    /**
+     * Validates the input arguments of a dice game and sorts them, reporting
+     * failures through the result instead of an exception.
+     *
+     * @param args The list of input arguments.
+     * @return The packed hand with the dice in ascending order, or an error
+     * encoded as described in {@link ValidationError}, positioned at the index
+     * of the offending argument.
+     */
+    public int validate(List<Integer> args) {
+        if (args == null) {
+            return rejected(ValidationError.NULL, 0);
+        }
+
+        if (!hasAllDice(args)) {
+            return rejected(ValidationError.WRONG_COUNT, Math.min(args.size(), rules.getDice()));
+        }
+
+        for (int i = 0; i < args.size(); i++) {
+            Integer arg = args.get(i);
+            if (arg == null) {
+                return rejected(ValidationError.NULL, i);
+            }
+            if (!isArgumentInRange(arg)) {
+                return rejected(ValidationError.OUT_OF_RANGE, i);
+            }
+        }
+
+        return validate(pack(args));
+    }
+
+    /**
+     * Validates a packed hand of a dice game and sorts its dice, without
+     * allocating or throwing.
+     *
+     * @param hand The packed hand.
+     * @return The packed hand with the dice in ascending order, or
+     * {@link ValidationError#OUT_OF_RANGE} encoded at the position of the
+     * first die outside the faces, or at the number of dice if bits beyond
+     * the last die are set.
+     */
+    public int validate(int hand) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0L;
+        int result;
+        if (standard) {
+            int position = PackedHand.invalidPosition(hand);
+            result = position < 0 ? PackedHand.sort(hand) : rejected(ValidationError.OUT_OF_RANGE, position);
+        } else if (table.classify(hand) >= 0) {
+            result = table.pack(sortedDice(hand));
+        } else {
+            int position = 0;
+            while (position < rules.getDice() && isArgumentInRange(table.die(hand, position))) {
+                position++;
+            }
+            result = rejected(ValidationError.OUT_OF_RANGE, position);
+        }
+        if (Metrics.ENABLED) {
+            VALIDATE_TIMER.record(System.nanoTime() - start);
+        }
+        return result;
     }
 
     /**
      * Processes the input arguments of a dice game. Validates the arguments and
-     * sorts them.
+     * sorts them. This wraps {@link #validate(List)}, which reports the same
+     * failures without the cost of an exception.
      *
      * @param args The list of input arguments.
      * @return A sorted list of validated arguments.
      * @throws WrongResultsException If validation fails.
      */
     public List<Integer> processGameResults(List<Integer> args) throws WrongResultsException {
-        if (args == null) {
-            throw new WrongResultsException("Invalid argument.");
+        int hand = checked(validate(args));
+        if (standard) {
+            return PackedHand.toList(hand);
         }
+        Integer[] values = new Integer[rules.getDice()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = table.die(hand, i);
+        }
+        return List.of(values);
+    }
+
+    /**
+     * Processes a packed hand of a dice game. Validates the hand and sorts its
+     * dice. This wraps {@link #validate(int)}.
+     *
+     * @param hand The packed hand.
+     * @return The packed hand with the dice in ascending order.
+     * @throws WrongResultsException If the hand does not hold the dice of the
+     * game.
+     */
+    public int processGameResults(int hand) throws WrongResultsException {
+        return checked(validate(hand));
+    }
 
-        if (!hasFiveElements(args) || args.isEmpty()) {
-            throw new WrongResultsException("Too many or not enough arguments.");
+    /**
+     * Encodes a validation error, counting it as a rejection reason when
+     * metrics are enabled.
+     *
+     * @param error The error.
+     * @param position The position of the offending input.
+     * @return The encoded error.
+     */
+    private static int rejected(ValidationError error, int position) {
+        if (Metrics.ENABLED) {
+            Metrics.reject(error.getMessage());
         }
+        return error.encode(position);
+    }
 
-        List<Integer> currentResults = new ArrayList<>();
+    /**
+     * Turns an encoded validation error into an exception.
+     *
+     * @param result The result of a validation method.
+     * @return The packed hand, if the result is not an error.
+     * @throws WrongResultsException If the result is an error.
+     */
+    private static int checked(int result) throws WrongResultsException {
+        if (ValidationError.isError(result)) {
+            throw new WrongResultsException(ValidationError.decode(result), ValidationError.decodePosition(result));
+        }
+        return result;
+    }
 
-        for (Integer arg : args) {
-            if (!isArgumentInRange(arg)) {
-                throw new WrongResultsException("Argument out of range.");
-            }
+    /**
+     * Determines the category of the provided results. The category is looked
+     * up in a table precomputed for all 252 sorted hands, so the order of the
+     * values does not matter.
+     *
+     * @param results The list of dice values.
+     * @return The category of the hand.
+     * @throws IllegalArgumentException If the results are not five values in
+     * the range 1-6.
+     * @throws IllegalStateException If the model plays a variant.
+     */
+    public HandCategory classify(List<Integer> results) {
+        requireStandard();
+        int hand = PackedHand.of(results);
+        if (hand == PackedHand.INVALID) {
+            throw new IllegalArgumentException("Not a valid hand: " + results);
+        }
+        return classify(hand);
+    }
+
+    /**
+     * Determines the category of a packed hand without allocating.
+     *
+     * @param hand The packed hand, with the dice in any order.
+     * @return The category of the hand.
+     * @throws IllegalArgumentException If the hand is not valid.
+     * @throws IllegalStateException If the model plays a variant.
+     */
+    public HandCategory classify(int hand) {
+        requireStandard();
+        int code = classifyCode(hand);
+        if (code < 0) {
+            throw new IllegalArgumentException("Not a valid hand: " + hand);
+        }
+        return HandCategory.fromCode(code);
+    }
 
-            currentResults.add(arg);
+    /**
+     * Determines the category code of a packed hand without allocating or
+     * throwing.
+     *
+     * @param hand The packed hand, with the dice in any order.
+     * @return The code of the category of the hand, or -1 if the hand is not
+     * valid. For a variant, the combination code of its rules.
+     */
+    public int classifyCode(int hand) {
+        if (!standard) {
+            return table.classify(hand);
         }
+        int index = HandTable.indexOf(hand);
+        return index < 0 ? -1 : HandTable.categoryCode(index);
+    }
 
-        ResultProcessor resultProcessor = (List<Integer> results) -> {
-            Collections.sort(results);
-            return results;
-        };
+    /**
+     * Returns the message of a category or combination code.
+     *
+     * @param code The code, as returned by {@link #classifyCode(int)}.
+     * @return The message displayed to the player.
+     */
+    public String getMessage(int code) {
+        return table.getMessage(code);
+    }
 
-        return resultProcessor.processResults(currentResults);
+    /**
+     * Determines the category codes of a whole batch of packed hands.
+     *
+     * @param hands The packed hands, with the dice in any order.
+     * @param categories The array receiving the category code of every hand.
+     * @return The number of hands that were not valid.
+     * @throws IndexOutOfBoundsException If the categories array is shorter
+     * than the hands array.
+     */
+    public int classifyAll(int[] hands, byte[] categories) {
+        return classifyAll(hands, 0, categories, 0, hands.length);
     }
 
     /**
-     * Determines the game result message based on the provided results.
+     * Determines the category codes of a range of packed hands, writing them
+     * to a range of the categories array. Invalid hands receive the code -1
+     * and do not stop the batch, so callers can reuse both buffers.
      *
-     * @param results The list of sorted dice values.
-     * @return A message describing the result of the game.
+     * @param hands The packed hands, with the dice in any order.
+     * @param handsOffset The index of the first hand to classify.
+     * @param categories The array receiving the category codes.
+     * @param categoriesOffset The index of the first category code to write.
+     * @param length The number of hands to classify.
+     * @return The number of hands in the range that were not valid.
+     * @throws IndexOutOfBoundsException If either range is out of the bounds
+     * of its array.
      */
-    public String evaluateGameResultMessage(List<Integer> results) {
-        if (isFiveOfAKind(results)) {
-            return "Five of a kind!";
-        } else if (isFourOfAKind(results)) {
-            return "Four of a kind!";
-        } else if (isFullHouse(results)) {
-            return "Full house!";
-        } else if (isThreeOfAKind(results)) {
-            return "Three of a kind!";
-        } else if (isTwoPairs(results)) {
-            return "Two pairs!";
-        } else if (isOnePair(results)) {
-            return "One pair!";
-        } else {
-            return "No special combination.";
+    public int classifyAll(int[] hands, int handsOffset, byte[] categories, int categoriesOffset, int length) {
+        Objects.checkFromIndexSize(handsOffset, length, hands.length);
+        Objects.checkFromIndexSize(categoriesOffset, length, categories.length);
+
+        int invalid = 0;
+        if (!standard) {
+            for (int i = 0; i < length; i++) {
+                int code = table.classify(hands[handsOffset + i]);
+                categories[categoriesOffset + i] = (byte) code;
+                invalid += code >>> 31;
+            }
+            return invalid;
+        }
+        for (int i = 0; i < length; i++) {
+            int index = HandTable.indexOf(hands[handsOffset + i]);
+            if (index < 0) {
+                categories[categoriesOffset + i] = -1;
+                invalid++;
+            } else {
+                categories[categoriesOffset + i] = HandTable.categoryCode(index);
+            }
         }
+        return invalid;
     }
 
     /**
-     * Checks if the provided results contain five identical values.
+     * Determines the Yatzee score of a packed hand in a category.
      *
-     * @param results The sorted list of dice values.
-     * @return True if all values are the same, false otherwise.
+     * @param hand The packed hand, with the dice in any order.
+     * @param category The scoring category.
+     * @return The number of points scored.
+     * @throws IllegalArgumentException If the hand is not valid.
+     * @throws IllegalStateException If the model plays a variant.
      */
-    private boolean isFiveOfAKind(List<Integer> results) {
-        return results.stream().distinct().count() == 1;
+    public int score(int hand, ScoreCategory category) {
+        requireStandard();
+        return category.score(hand);
     }
 
     /**
-     * Checks if the provided results contain four identical values.
+     * Determines the Yatzee score of a packed hand in every category.
      *
-     * @param results The sorted list of dice values.
-     * @return True if at least four values are the same, false otherwise.
+     * @param hand The packed hand, with the dice in any order.
+     * @param scores The array receiving the score of every category, indexed
+     * by ordinal.
+     * @throws IllegalArgumentException If the hand is not valid.
+     * @throws IllegalStateException If the model plays a variant.
      */
-    private boolean isFourOfAKind(List<Integer> results) {
-        return results.stream().anyMatch(value -> Collections.frequency(results, value) >= 4);
+    public void scoreAll(int hand, int[] scores) {
+        requireStandard();
+        int index = HandTable.indexOf(hand);
+        if (index < 0) {
+            throw new IllegalArgumentException("Not a valid hand: " + hand);
+        }
+        for (int category = 0; category < HandTable.SCORE_CATEGORY_COUNT; category++) {
+            scores[category] = HandTable.score(index, category);
+        }
     }
 
     /**
-     * Checks if the provided results form a full house combination.
+     * Determines the game result message based on the provided results.
      *
-     * @param results The sorted list of dice values.
-     * @return True if the results form a full house, false otherwise.
+     * @param results The list of dice values.
+     * @return A message describing the result of the game.
+     * @throws IllegalArgumentException If the results are not a valid hand of
+     * the game.
      */
-    private boolean isFullHouse(List<Integer> results) {
-        return (Objects.equals(results.get(0), results.get(1)) && Objects.equals(results.get(3), results.get(4))
-                && (Objects.equals(results.get(2), results.get(0)) || Objects.equals(results.get(2), results.get(4))));
+    public String evaluateGameResultMessage(List<Integer> results) {
+        int code = classifyCode(pack(results));
+        if (code < 0) {
+            throw new IllegalArgumentException("Not a valid hand: " + results);
+        }
+        return table.getMessage(code);
     }
 
     /**
-     * Checks if the provided results contain three identical values.
+     * Packs dice values into a hand of the game.
      *
-     * @param results The sorted list of dice values.
-     * @return True if at least three values are the same, false otherwise.
+     * @param values The dice values.
+     * @return The packed hand, or -1 if the values are not a valid hand.
      */
-    private boolean isThreeOfAKind(List<Integer> results) {
-        return results.stream().anyMatch(value -> Collections.frequency(results, value) >= 3);
+    private int pack(List<Integer> values) {
+        if (standard) {
+            return PackedHand.of(values);
+        }
+        if (values.size() != rules.getDice() || values.contains(null)) {
+            return -1;
+        }
+        return table.pack(values.stream().mapToInt(Integer::intValue).toArray());
     }
 
     /**
-     * Checks if the provided results contain two pairs of identical values.
+     * Returns the dice of a valid hand of a variant in ascending order.
      *
-     * @param results The sorted list of dice values.
-     * @return True if the results contain two pairs, false otherwise.
+     * @param hand The packed hand.
+     * @return The dice values, sorted.
      */
-    private boolean isTwoPairs(List<Integer> results) {
-        int countPairs = 0;
-        for (int i = 0; i < results.size() - 1; i++) {
-            if (results.get(i).equals(results.get(i + 1))) {
-                countPairs++;
-                i++;
-            }
+    private int[] sortedDice(int hand) {
+        int[] values = new int[rules.getDice()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = table.die(hand, i);
         }
-        return countPairs == 2;
+        Arrays.sort(values);
+        return values;
     }
 
     /**
-     * Checks if the provided results contain one pair of identical values.
+     * Rejects operations that exist only in the standard game.
      *
-     * @param results The sorted list of dice values.
-     * @return True if the results contain one pair, false otherwise.
+     * @throws IllegalStateException If the model plays a variant.
      */
-    private boolean isOnePair(List<Integer> results) {
-        return results.stream().anyMatch(value -> Collections.frequency(results, value) == 2);
+    private void requireStandard() {
+        if (!standard) {
+            throw new IllegalStateException("Only the standard game has hand categories and scores.");
+        }
     }
 }
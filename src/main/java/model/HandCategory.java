@@ -0,0 +1,87 @@
+package model;
+
+/**
+ * Enumeration of the combinations recognised in a hand of five dice. The
+ * constants are ordered from the strongest to the weakest combination, so the
+ * ordinal doubles as a compact category code.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public enum HandCategory {
+
+    /**
+     * All five dice show the same value.
+     */
+    FIVE_OF_A_KIND("Five of a kind!"),
+    /**
+     * Four dice show the same value.
+     */
+    FOUR_OF_A_KIND("Four of a kind!"),
+    /**
+     * Three dice of one value and two of another.
+     */
+    FULL_HOUSE("Full house!"),
+    /**
+     * Three dice show the same value.
+     */
+    THREE_OF_A_KIND("Three of a kind!"),
+    /**
+     * Two different pairs.
+     */
+    TWO_PAIRS("Two pairs!"),
+    /**
+     * A single pair.
+     */
+    ONE_PAIR("One pair!"),
+    /**
+     * None of the combinations above.
+     */
+    NO_SPECIAL_COMBINATION("No special combination.");
+
+    /**
+     * Cached copy of {@link #values()} used for code lookups.
+     */
+    private static final HandCategory[] VALUES = values();
+
+    private final String message;
+
+    /**
+     * Constructs a category with the message displayed to the player.
+     *
+     * @param message The message describing the combination.
+     */
+    HandCategory(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Returns the message describing this combination.
+     *
+     * @return The message displayed to the player.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the compact code of this category.
+     *
+     * @return The code of the category, equal to its ordinal.
+     */
+    public byte code() {
+        return (byte) ordinal();
+    }
+
+    /**
+     * Returns the category with the given compact code.
+     *
+     * @param code The code of the category.
+     * @return The category with the given code.
+     * @throws ArrayIndexOutOfBoundsException If the code is not a valid
+     * category code.
+     */
+    public static HandCategory fromCode(int code) {
+        return VALUES[code];
+    }
+}
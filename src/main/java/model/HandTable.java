@@ -0,0 +1,205 @@
+package model;
+
+import rules.GameRules;
+import rules.RuleTable;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed lookup tables for hands of five six-sided dice. A hand is
+ * identified by a 15-bit key holding three bits per die, and every one of the
+ * 7776 possible keys is mapped to the index of its sorted multiset. The 252
+ * multisets are then classified with {@link GameRules#standard()} and scored
+ * once, when the class is loaded,
+ * so evaluating a hand is reduced to two array lookups.
+ *
+ * <p>The tables are filled only by the static initializer and never written
+ * afterwards; class initialization happens-before any use of the class, so
+ * every thread sees the complete tables without further synchronization. The
+ * arrays never escape this class.</p>
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+final class HandTable {
+
+    /**
+     * Number of dice in a hand.
+     */
+    static final int DICE = 5;
+
+    /**
+     * Number of faces of a die.
+     */
+    static final int FACES = 6;
+
+    /**
+     * Number of bits used to store a single die in a key.
+     */
+    static final int BITS_PER_DIE = 3;
+
+    /**
+     * Number of distinct keys that fit in the packed representation.
+     */
+    static final int KEY_SPACE = 1 << (DICE * BITS_PER_DIE);
+
+    /**
+     * Number of distinct sorted hands (multisets of five dice).
+     */
+    static final int HAND_COUNT = 252;
+
+    /**
+     * Number of distinct ordered rolls of five dice.
+     */
+    static final int ROLL_COUNT = 7776;
+
+    /**
+     * Multiset index for every key, or -1 for keys that are not a valid hand.
+     */
+    private static final short[] INDEX_BY_KEY = new short[KEY_SPACE];
+
+    /**
+     * Key of the sorted hand for every multiset index.
+     */
+    private static final int[] SORTED_KEY_BY_INDEX = new int[HAND_COUNT];
+
+    /**
+     * Category code for every multiset index.
+     */
+    private static final byte[] CATEGORY_BY_INDEX = new byte[HAND_COUNT];
+
+    /**
+     * Number of scoring categories on a scorecard.
+     */
+    static final int SCORE_CATEGORY_COUNT = 13;
+
+    /**
+     * Score of every multiset index in every scoring category.
+     */
+    private static final byte[] SCORE_BY_INDEX = new byte[HAND_COUNT * SCORE_CATEGORY_COUNT];
+
+    /**
+     * Number of ordered rolls producing every multiset index.
+     */
+    private static final short[] MULTIPLICITY_BY_INDEX = new short[HAND_COUNT];
+
+    static {
+        Arrays.fill(INDEX_BY_KEY, (short) -1);
+
+        // Enumerate sorted hands in lexicographic order and classify each one
+        // with the standard rules, whose codes are the category codes.
+        RuleTable rules = GameRules.standard().compile();
+        int index = 0;
+        for (int a = 1; a <= FACES; a++) {
+            for (int b = a; b <= FACES; b++) {
+                for (int c = b; c <= FACES; c++) {
+                    for (int d = c; d <= FACES; d++) {
+                        for (int e = d; e <= FACES; e++) {
+                            int sortedKey = key(a, b, c, d, e);
+                            SORTED_KEY_BY_INDEX[index] = sortedKey;
+                            CATEGORY_BY_INDEX[index] = (byte) rules.classify(sortedKey);
+                            INDEX_BY_KEY[sortedKey] = (short) index;
+                            index++;
+                        }
+                    }
+                }
+            }
+        }
+
+        // Map every ordered roll to the index of its sorted counterpart.
+        int[] dice = new int[DICE];
+        for (int roll = 0; roll < ROLL_COUNT; roll++) {
+            int rest = roll;
+            for (int i = 0; i < DICE; i++) {
+                dice[i] = rest % FACES + 1;
+                rest /= FACES;
+            }
+            int rollKey = key(dice[0], dice[1], dice[2], dice[3], dice[4]);
+            Arrays.sort(dice);
+            INDEX_BY_KEY[rollKey] = INDEX_BY_KEY[key(dice[0], dice[1], dice[2], dice[3], dice[4])];
+            MULTIPLICITY_BY_INDEX[INDEX_BY_KEY[rollKey]]++;
+        }
+
+        for (int hand = 0; hand < HAND_COUNT; hand++) {
+            for (int category = 0; category < SCORE_CATEGORY_COUNT; category++) {
+                SCORE_BY_INDEX[hand * SCORE_CATEGORY_COUNT + category] =
+                        (byte) ScoreCategory.fromIndex(category).computeScore(SORTED_KEY_BY_INDEX[hand]);
+            }
+        }
+    }
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private HandTable() {
+    }
+
+    /**
+     * Packs five dice values into a key, three bits per die, with the first
+     * die in the lowest bits.
+     *
+     * @param a The value of the first die.
+     * @param b The value of the second die.
+     * @param c The value of the third die.
+     * @param d The value of the fourth die.
+     * @param e The value of the fifth die.
+     * @return The packed key.
+     */
+    static int key(int a, int b, int c, int d, int e) {
+        return a | b << 3 | c << 6 | d << 9 | e << 12;
+    }
+
+    /**
+     * Returns the multiset index of the given key.
+     *
+     * @param key The packed key of a hand, in any order.
+     * @return The index of the sorted hand (0-251), or -1 if the key does not
+     * describe five dice in the range 1-6.
+     */
+    static int indexOf(int key) {
+        return (key & ~(KEY_SPACE - 1)) == 0 ? INDEX_BY_KEY[key] : -1;
+    }
+
+    /**
+     * Returns the key of the sorted hand with the given multiset index.
+     *
+     * @param index The multiset index (0-251).
+     * @return The packed key with the dice in ascending order.
+     */
+    static int sortedKey(int index) {
+        return SORTED_KEY_BY_INDEX[index];
+    }
+
+    /**
+     * Returns the category code of the hand with the given multiset index.
+     *
+     * @param index The multiset index (0-251).
+     * @return The code of the {@link HandCategory} of the hand.
+     */
+    static byte categoryCode(int index) {
+        return CATEGORY_BY_INDEX[index];
+    }
+
+    /**
+     * Returns the number of ordered rolls that sort into the hand with the
+     * given multiset index.
+     *
+     * @param index The multiset index (0-251).
+     * @return The number of ordered rolls (1-120).
+     */
+    static int multiplicity(int index) {
+        return MULTIPLICITY_BY_INDEX[index];
+    }
+
+    /**
+     * Returns the score of the hand with the given multiset index in a
+     * scoring category.
+     *
+     * @param index The multiset index (0-251).
+     * @param category The index of the {@link ScoreCategory}.
+     * @return The number of points scored.
+     */
+    static int score(int index, int category) {
+        return SCORE_BY_INDEX[index * SCORE_CATEGORY_COUNT + category];
+    }
+}
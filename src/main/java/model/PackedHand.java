@@ -0,0 +1,208 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Primitive representation of a hand of five dice. A hand is stored in a
+ * single {@code int}, three bits per die, with the first die in the lowest
+ * bits, so hands can be validated, sorted and classified without boxing or
+ * allocating. Sorting and validation are lookups in the precomputed
+ * {@link HandTable}.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class PackedHand {
+
+    /**
+     * Value returned by the packing methods when the dice do not form a valid
+     * hand.
+     */
+    public static final int INVALID = -1;
+
+    /**
+     * Number of dice in a hand.
+     */
+    public static final int DICE = HandTable.DICE;
+
+    /**
+     * Number of distinct sorted hands.
+     */
+    public static final int HAND_COUNT = HandTable.HAND_COUNT;
+
+    /**
+     * Number of distinct ordered rolls.
+     */
+    public static final int ROLL_COUNT = HandTable.ROLL_COUNT;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private PackedHand() {
+    }
+
+    /**
+     * Packs five dice values into a hand.
+     *
+     * @param a The value of the first die.
+     * @param b The value of the second die.
+     * @param c The value of the third die.
+     * @param d The value of the fourth die.
+     * @param e The value of the fifth die.
+     * @return The packed hand, or {@link #INVALID} if any value is outside the
+     * range 1-6.
+     */
+    public static int of(int a, int b, int c, int d, int e) {
+        if (!inRange(a) || !inRange(b) || !inRange(c) || !inRange(d) || !inRange(e)) {
+            return INVALID;
+        }
+        return HandTable.key(a, b, c, d, e);
+    }
+
+    /**
+     * Packs a list of dice values into a hand.
+     *
+     * @param values The list of dice values.
+     * @return The packed hand, or {@link #INVALID} if the list is null, does
+     * not have five elements or contains a value outside the range 1-6.
+     */
+    public static int of(List<Integer> values) {
+        if (values == null || values.size() != DICE) {
+            return INVALID;
+        }
+        int hand = 0;
+        for (int i = 0; i < DICE; i++) {
+            Integer value = values.get(i);
+            if (value == null || !inRange(value)) {
+                return INVALID;
+            }
+            hand |= value << (i * HandTable.BITS_PER_DIE);
+        }
+        return hand;
+    }
+
+    /**
+     * Checks if the given value is a valid packed hand.
+     *
+     * @param hand The packed hand.
+     * @return True if the hand holds five dice in the range 1-6, false
+     * otherwise.
+     */
+    public static boolean isValid(int hand) {
+        return HandTable.indexOf(hand) >= 0;
+    }
+
+    /**
+     * Finds the die that makes a hand invalid.
+     *
+     * @param hand The packed hand.
+     * @return The position of the first die outside the range 1-6,
+     * {@value #DICE} if only bits beyond the fifth die are set, or -1 if the
+     * hand is valid.
+     */
+    public static int invalidPosition(int hand) {
+        if (isValid(hand)) {
+            return -1;
+        }
+        int position = 0;
+        while (position < DICE && die(hand, position) >= 1 && die(hand, position) <= 6) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Returns the value of a single die.
+     *
+     * @param hand The packed hand.
+     * @param position The position of the die (0-4).
+     * @return The value of the die.
+     */
+    public static int die(int hand, int position) {
+        return (hand >>> (position * HandTable.BITS_PER_DIE)) & 0b111;
+    }
+
+    /**
+     * Sorts the dice of a hand in ascending order.
+     *
+     * @param hand The valid packed hand.
+     * @return The packed hand with the dice in ascending order.
+     */
+    public static int sort(int hand) {
+        return HandTable.sortedKey(HandTable.indexOf(hand));
+    }
+
+    /**
+     * Returns the index of the sorted hand among the 252 possible sorted
+     * hands. Hands with the same dice in a different order share the index.
+     *
+     * @param hand The packed hand.
+     * @return The index of the hand (0-251), or -1 if the hand is not valid.
+     */
+    public static int index(int hand) {
+        return HandTable.indexOf(hand);
+    }
+
+    /**
+     * Returns the sorted hand with the given index.
+     *
+     * @param index The index of the sorted hand (0-251).
+     * @return The packed hand with the dice in ascending order.
+     */
+    public static int fromIndex(int index) {
+        return HandTable.sortedKey(index);
+    }
+
+    /**
+     * Returns the number of ordered rolls that produce the sorted hand with
+     * the given index.
+     *
+     * @param index The index of the sorted hand (0-251).
+     * @return The number of ordered rolls (1-120).
+     */
+    public static int multiplicity(int index) {
+        return HandTable.multiplicity(index);
+    }
+
+    /**
+     * Returns the number of dice showing the given face.
+     *
+     * @param hand The packed hand.
+     * @param face The face value (1-6).
+     * @return The number of dice showing the face.
+     */
+    public static int count(int hand, int face) {
+        int count = 0;
+        for (int i = 0; i < DICE; i++) {
+            if (die(hand, i) == face) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Unpacks a hand into a new list of dice values.
+     *
+     * @param hand The packed hand.
+     * @return A mutable list with the value of every die.
+     */
+    public static List<Integer> toList(int hand) {
+        List<Integer> values = new ArrayList<>(DICE);
+        for (int i = 0; i < DICE; i++) {
+            values.add(die(hand, i));
+        }
+        return values;
+    }
+
+    /**
+     * Checks if the given integer is within the valid dice face range.
+     *
+     * @param value The integer to check.
+     * @return True if the integer is within the range (1-6), false otherwise.
+     */
+    private static boolean inRange(int value) {
+        return value > 0 && value <= HandTable.FACES;
+    }
+}
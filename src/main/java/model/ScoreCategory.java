@@ -0,0 +1,211 @@
+package model;
+
+/**
+ * Enumeration of the thirteen scoring categories of a Yatzee scorecard. The
+ * first six constants form the upper section.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public enum ScoreCategory {
+
+    /**
+     * Sum of the dice showing one.
+     */
+    ONES("Ones"),
+    /**
+     * Sum of the dice showing two.
+     */
+    TWOS("Twos"),
+    /**
+     * Sum of the dice showing three.
+     */
+    THREES("Threes"),
+    /**
+     * Sum of the dice showing four.
+     */
+    FOURS("Fours"),
+    /**
+     * Sum of the dice showing five.
+     */
+    FIVES("Fives"),
+    /**
+     * Sum of the dice showing six.
+     */
+    SIXES("Sixes"),
+    /**
+     * Sum of all dice if at least three show the same value.
+     */
+    THREE_OF_A_KIND("Three of a kind"),
+    /**
+     * Sum of all dice if at least four show the same value.
+     */
+    FOUR_OF_A_KIND("Four of a kind"),
+    /**
+     * 25 points for three dice of one value and two of another.
+     */
+    FULL_HOUSE("Full house"),
+    /**
+     * 30 points for four consecutive values.
+     */
+    SMALL_STRAIGHT("Small straight"),
+    /**
+     * 40 points for five consecutive values.
+     */
+    LARGE_STRAIGHT("Large straight"),
+    /**
+     * 50 points for five dice showing the same value.
+     */
+    YATZEE("Yatzee"),
+    /**
+     * Sum of all dice.
+     */
+    CHANCE("Chance");
+
+    /**
+     * Number of categories in the upper section.
+     */
+    public static final int UPPER_COUNT = 6;
+
+    /**
+     * Cached copy of {@link #values()} used for index lookups.
+     */
+    private static final ScoreCategory[] VALUES = values();
+
+    private final String displayName;
+
+    /**
+     * Constructs a category with the name shown on the scorecard.
+     *
+     * @param displayName The name of the category.
+     */
+    ScoreCategory(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Returns the name of the category shown on the scorecard.
+     *
+     * @return The name of the category.
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Checks if the category belongs to the upper section.
+     *
+     * @return True for the categories from ones to sixes, false otherwise.
+     */
+    public boolean isUpper() {
+        return ordinal() < UPPER_COUNT;
+    }
+
+    /**
+     * Returns the bit representing this category in a mask of used
+     * categories.
+     *
+     * @return The bit of the category.
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Returns the category with the given index.
+     *
+     * @param index The index of the category (0-12).
+     * @return The category with the given index.
+     */
+    public static ScoreCategory fromIndex(int index) {
+        return VALUES[index];
+    }
+
+    /**
+     * Returns the score of a hand in this category. The score is looked up in
+     * a table precomputed for all 252 sorted hands.
+     *
+     * @param hand The packed hand, with the dice in any order.
+     * @return The number of points scored.
+     * @throws IllegalArgumentException If the hand is not valid.
+     */
+    public int score(int hand) {
+        int index = HandTable.indexOf(hand);
+        if (index < 0) {
+            throw new IllegalArgumentException("Not a valid hand: " + hand);
+        }
+        return HandTable.score(index, ordinal());
+    }
+
+    /**
+     * Returns the score of the sorted hand with the given index in this
+     * category, read straight from the precomputed table.
+     *
+     * @param index The index of the sorted hand (0-251).
+     * @return The number of points scored.
+     */
+    public int scoreOfIndex(int index) {
+        return HandTable.score(index, ordinal());
+    }
+
+    /**
+     * Computes the score of a hand in this category from the dice. Used only
+     * while building the score table.
+     *
+     * @param hand The valid packed hand, with the dice in any order.
+     * @return The number of points scored.
+     */
+    int computeScore(int hand) {
+        int[] counts = new int[7];
+        int sum = 0;
+        for (int i = 0; i < PackedHand.DICE; i++) {
+            int face = PackedHand.die(hand, i);
+            counts[face]++;
+            sum += face;
+        }
+        int maxCount = 0;
+        boolean pair = false;
+        for (int face = 1; face <= 6; face++) {
+            maxCount = Math.max(maxCount, counts[face]);
+            pair |= counts[face] == 2;
+        }
+
+        switch (this) {
+            case THREE_OF_A_KIND:
+                return maxCount >= 3 ? sum : 0;
+            case FOUR_OF_A_KIND:
+                return maxCount >= 4 ? sum : 0;
+            case FULL_HOUSE:
+                return maxCount == 3 && pair ? 25 : 0;
+            case SMALL_STRAIGHT:
+                return hasRun(counts, 4) ? 30 : 0;
+            case LARGE_STRAIGHT:
+                return hasRun(counts, 5) ? 40 : 0;
+            case YATZEE:
+                return maxCount == 5 ? 50 : 0;
+            case CHANCE:
+                return sum;
+            default:
+                int face = ordinal() + 1;
+                return counts[face] * face;
+        }
+    }
+
+    /**
+     * Checks if the dice contain a run of consecutive values.
+     *
+     * @param counts The number of dice showing every face.
+     * @param length The length of the run.
+     * @return True if the dice contain the run, false otherwise.
+     */
+    private static boolean hasRun(int[] counts, int length) {
+        int run = 0;
+        for (int face = 1; face <= 6; face++) {
+            run = counts[face] > 0 ? run + 1 : 0;
+            if (run >= length) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
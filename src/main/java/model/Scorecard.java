@@ -0,0 +1,172 @@
+package model;
+
+/**
+ * Scorecard of a single Yatzee game. Keeps the points scored in each of the
+ * thirteen categories together with the upper section and Yatzee bonuses.
+ * Scores of individual hands are looked up with
+ * {@link ScoreCategory#score(int)}. Joker rules are not applied.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class Scorecard {
+
+    /**
+     * Upper section subtotal needed for the upper bonus.
+     */
+    public static final int UPPER_BONUS_THRESHOLD = 63;
+
+    /**
+     * Points awarded for reaching the upper section threshold.
+     */
+    public static final int UPPER_BONUS = 35;
+
+    /**
+     * Points awarded for every Yatzee rolled after the Yatzee category was
+     * scored with 50 points.
+     */
+    public static final int YATZEE_BONUS = 100;
+
+    /**
+     * Mask with the bit of every category set.
+     */
+    private static final int FULL_MASK = (1 << ScoreCategory.values().length) - 1;
+
+    private final int[] scores = new int[ScoreCategory.values().length];
+    private int usedMask;
+    private int upperSubtotal;
+    private int yatzeeBonus;
+
+    /**
+     * Scores a hand in the given category.
+     *
+     * @param category The category in which to score.
+     * @param hand The packed hand, with the dice in any order.
+     * @return The number of points added to the scorecard, including any
+     * Yatzee bonus.
+     * @throws IllegalArgumentException If the hand is not valid.
+     * @throws IllegalStateException If the category is already used.
+     */
+    public int score(ScoreCategory category, int hand) {
+        if (isUsed(category)) {
+            throw new IllegalStateException(category.getDisplayName() + " is already used.");
+        }
+        int points = category.score(hand);
+        int bonus = bonusFor(hand);
+
+        scores[category.ordinal()] = points;
+        usedMask |= category.bit();
+        if (category.isUpper()) {
+            upperSubtotal += points;
+        }
+        yatzeeBonus += bonus;
+        return points + bonus;
+    }
+
+    /**
+     * Computes the points scoring a hand in the given category would add to
+     * the scorecard, without recording them.
+     *
+     * @param category The category in which to score.
+     * @param hand The packed hand, with the dice in any order.
+     * @return The number of points, including any Yatzee bonus.
+     * @throws IllegalArgumentException If the hand is not valid.
+     */
+    public int pointsFor(ScoreCategory category, int hand) {
+        return category.score(hand) + bonusFor(hand);
+    }
+
+    /**
+     * Computes the Yatzee bonus earned by a hand, which is awarded for every
+     * further Yatzee once the Yatzee category holds a non-zero score.
+     *
+     * @param hand The packed hand.
+     * @return The bonus, or zero if none is earned.
+     */
+    private int bonusFor(int hand) {
+        if (isUsed(ScoreCategory.YATZEE) && scores[ScoreCategory.YATZEE.ordinal()] > 0
+                && ScoreCategory.YATZEE.score(hand) > 0) {
+            return YATZEE_BONUS;
+        }
+        return 0;
+    }
+
+    /**
+     * Checks if a category has already been scored.
+     *
+     * @param category The category.
+     * @return True if the category is used, false otherwise.
+     */
+    public boolean isUsed(ScoreCategory category) {
+        return (usedMask & category.bit()) != 0;
+    }
+
+    /**
+     * Checks if every category has been scored.
+     *
+     * @return True if the game is over, false otherwise.
+     */
+    public boolean isComplete() {
+        return usedMask == FULL_MASK;
+    }
+
+    /**
+     * Returns the mask of used categories.
+     *
+     * @return The mask with the {@link ScoreCategory#bit()} of every used
+     * category set.
+     */
+    public int getUsedMask() {
+        return usedMask;
+    }
+
+    /**
+     * Returns the points scored in a category.
+     *
+     * @param category The category.
+     * @return The points scored, or 0 if the category is not used yet.
+     */
+    public int getScore(ScoreCategory category) {
+        return scores[category.ordinal()];
+    }
+
+    /**
+     * Returns the sum of the upper section categories.
+     *
+     * @return The upper section subtotal.
+     */
+    public int getUpperSubtotal() {
+        return upperSubtotal;
+    }
+
+    /**
+     * Returns the upper section bonus.
+     *
+     * @return The bonus if the subtotal reached the threshold, 0 otherwise.
+     */
+    public int getUpperBonus() {
+        return upperSubtotal >= UPPER_BONUS_THRESHOLD ? UPPER_BONUS : 0;
+    }
+
+    /**
+     * Returns the sum of all Yatzee bonuses.
+     *
+     * @return The Yatzee bonus points.
+     */
+    public int getYatzeeBonus() {
+        return yatzeeBonus;
+    }
+
+    /**
+     * Returns the total score, including both bonuses.
+     *
+     * @return The total score.
+     */
+    public int getTotal() {
+        int total = getUpperBonus() + yatzeeBonus;
+        for (int score : scores) {
+            total += score;
+        }
+        return total;
+    }
+}
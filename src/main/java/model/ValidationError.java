@@ -0,0 +1,117 @@
+package model;
+
+/**
+ * Enumeration of the reasons for which input cannot be turned into a hand of
+ * five dice. Each reason carries the message reported to the player.
+ *
+ * <p>Methods that validate without throwing return an int that is either a
+ * packed hand, zero or positive, or a negative value encoding an error and
+ * the position of the offending input, created with {@link #encode(int)} and
+ * read with {@link #isError(int)}, {@link #decode(int)} and
+ * {@link #decodePosition(int)}.</p>
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public enum ValidationError {
+
+    /**
+     * The input contains something other than numbers separated by
+     * whitespace.
+     */
+    MALFORMED_TOKEN("Invalid input."),
+    /**
+     * The input does not contain exactly five values.
+     */
+    WRONG_COUNT("Too many or not enough arguments."),
+    /**
+     * A value is outside the range 1-6.
+     */
+    OUT_OF_RANGE("Argument out of range."),
+    /**
+     * The input or one of its values is missing.
+     */
+    NULL("Invalid argument.");
+
+    /**
+     * Number of bits holding the error code in an encoded error.
+     */
+    private static final int CODE_BITS = 4;
+
+    /**
+     * Cached copy of {@link #values()} used for code lookups.
+     */
+    private static final ValidationError[] VALUES = values();
+
+    private final String message;
+
+    /**
+     * Constructs an error with the message reported to the player.
+     *
+     * @param message The message describing the error.
+     */
+    ValidationError(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Returns the message describing this error.
+     *
+     * @return The message reported to the player.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the error with the given code.
+     *
+     * @param code The code of the error, equal to its ordinal.
+     * @return The error with the given code.
+     */
+    public static ValidationError fromCode(int code) {
+        return VALUES[code];
+    }
+
+    /**
+     * Encodes this error and its position into a negative result.
+     *
+     * @param position The position of the offending input, zero or positive.
+     * @return The encoded error.
+     */
+    public int encode(int position) {
+        return ~(position << CODE_BITS | ordinal());
+    }
+
+    /**
+     * Checks if a validation result is an error.
+     *
+     * @param result The result of a validation method.
+     * @return True if the result encodes an error, false if it is a hand.
+     */
+    public static boolean isError(int result) {
+        return result < 0;
+    }
+
+    /**
+     * Returns the error encoded in a validation result.
+     *
+     * @param result The result of a validation method, which must be an
+     * error.
+     * @return The error.
+     */
+    public static ValidationError decode(int result) {
+        return VALUES[~result & ((1 << CODE_BITS) - 1)];
+    }
+
+    /**
+     * Returns the position of the error encoded in a validation result.
+     *
+     * @param result The result of a validation method, which must be an
+     * error.
+     * @return The position of the offending input.
+     */
+    public static int decodePosition(int result) {
+        return ~result >>> CODE_BITS;
+    }
+}
@@ -1,19 +1,75 @@
 package model;
 
+import metrics.Metrics;
+
 /**
  * Custom exception class for handling errors related to incorrect results in the dice game model.
+ * Thrown by the exception-based wrappers of the validation methods, which
+ * report the same errors as {@link ValidationError} codes without throwing.
  *
  * @author Grzegorz Dziedzic
  * @version 1.3
  */
 public class WrongResultsException extends Exception {
-    
+
+    private final ValidationError error;
+    private final int position;
+
     /**
      * Constructs a new WrongResultsException with the specified detail message.
+     * The message is counted as a rejection reason when metrics are enabled;
+     * failures with a {@link ValidationError} are counted where they are
+     * detected instead.
      *
      * @param message The detail message explaining the reason for the exception.
      */
     public WrongResultsException(String message) {
+        this(message, null, -1);
+    }
+
+    /**
+     * Constructs a new WrongResultsException for a validation error, with the
+     * message of the error.
+     *
+     * @param error The reason of the failure.
+     * @param position The position of the offending input.
+     */
+    public WrongResultsException(ValidationError error, int position) {
+        this(error.getMessage(), error, position);
+    }
+
+    /**
+     * Constructs a new WrongResultsException.
+     *
+     * @param message The detail message explaining the reason for the exception.
+     * @param error The reason of the failure, or null if unknown.
+     * @param position The position of the offending input, or -1 if unknown.
+     */
+    private WrongResultsException(String message, ValidationError error, int position) {
         super(message);
+        this.error = error;
+        this.position = position;
+        if (Metrics.ENABLED && error == null) {
+            Metrics.reject(message);
+        }
+    }
+
+    /**
+     * Returns the reason of the failure.
+     *
+     * @return The error, or null if the exception was created from a message.
+     */
+    public ValidationError getError() {
+        return error;
+    }
+
+    /**
+     * Returns the position of the offending input, such as the index of a
+     * value in a list.
+     *
+     * @return The position, or -1 if unknown.
+     */
+    public int getPosition() {
+        return position;
     }
 }
\ No newline at end of file
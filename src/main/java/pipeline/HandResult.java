@@ -0,0 +1,205 @@
+package pipeline;
+
+import model.HandCategory;
+import model.ValidationError;
+
+/**
+ * Mutable state of a single hand travelling through a {@link Pipeline}.
+ * Every stage reads and updates the same object, so a pipeline allocates
+ * nothing per hand when one result is reused for many hands. A result is
+ * owned by one thread at a time.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class HandResult {
+
+    /**
+     * Value of the category code and score before they are computed.
+     */
+    public static final int UNKNOWN = -1;
+
+    private CharSequence text;
+    private int hand;
+    private ValidationError error;
+    private int errorPosition;
+    private long faceCounts;
+    private int categoryCode;
+    private int score;
+
+    /**
+     * Constructs an empty result.
+     */
+    public HandResult() {
+        reset(0);
+    }
+
+    /**
+     * Prepares the result for a hand given as text, to be parsed by the first
+     * stage.
+     *
+     * @param text The text of the hand.
+     * @return This result.
+     */
+    public HandResult reset(CharSequence text) {
+        reset(0);
+        this.text = text;
+        return this;
+    }
+
+    /**
+     * Prepares the result for an already packed hand.
+     *
+     * @param hand The packed hand.
+     * @return This result.
+     */
+    public HandResult reset(int hand) {
+        this.text = null;
+        this.hand = hand;
+        this.error = null;
+        this.errorPosition = 0;
+        this.faceCounts = 0;
+        this.categoryCode = UNKNOWN;
+        this.score = UNKNOWN;
+        return this;
+    }
+
+    /**
+     * Returns the text of the hand.
+     *
+     * @return The text, or null if the hand was given packed.
+     */
+    public CharSequence getText() {
+        return text;
+    }
+
+    /**
+     * Returns the packed hand.
+     *
+     * @return The packed hand.
+     */
+    public int getHand() {
+        return hand;
+    }
+
+    /**
+     * Replaces the packed hand, for example with its sorted form.
+     *
+     * @param hand The packed hand.
+     */
+    public void setHand(int hand) {
+        this.hand = hand;
+    }
+
+    /**
+     * Marks the hand as rejected.
+     *
+     * @param error The reason of the rejection.
+     * @param position The position of the offending input, or 0.
+     */
+    public void fail(ValidationError error, int position) {
+        this.error = error;
+        this.errorPosition = position;
+    }
+
+    /**
+     * Checks if the hand has been rejected.
+     *
+     * @return True if no stage rejected the hand, false otherwise.
+     */
+    public boolean isValid() {
+        return error == null;
+    }
+
+    /**
+     * Returns the reason of the rejection.
+     *
+     * @return The error, or null if the hand is valid.
+     */
+    public ValidationError getError() {
+        return error;
+    }
+
+    /**
+     * Returns the position of the offending input.
+     *
+     * @return The position, relative to the start of the text.
+     */
+    public int getErrorPosition() {
+        return errorPosition;
+    }
+
+    /**
+     * Returns the face counts computed by the histogram stage.
+     *
+     * @return Four bits per face, face 1 in the lowest bits, or 0 if not
+     * computed.
+     */
+    public long getFaceCounts() {
+        return faceCounts;
+    }
+
+    /**
+     * Returns the number of dice showing a face, from the histogram stage.
+     *
+     * @param face The face value (1-6).
+     * @return The number of dice.
+     */
+    public int getFaceCount(int face) {
+        return (int) (faceCounts >>> ((face - 1) * Stages.COUNT_BITS)) & ((1 << Stages.COUNT_BITS) - 1);
+    }
+
+    /**
+     * Stores the face counts.
+     *
+     * @param faceCounts Four bits per face, face 1 in the lowest bits.
+     */
+    void setFaceCounts(long faceCounts) {
+        this.faceCounts = faceCounts;
+    }
+
+    /**
+     * Returns the category code.
+     *
+     * @return The code, or {@link #UNKNOWN} if not classified.
+     */
+    public int getCategoryCode() {
+        return categoryCode;
+    }
+
+    /**
+     * Returns the category.
+     *
+     * @return The category, or null if not classified.
+     */
+    public HandCategory getCategory() {
+        return categoryCode == UNKNOWN ? null : HandCategory.fromCode(categoryCode);
+    }
+
+    /**
+     * Stores the category code.
+     *
+     * @param categoryCode The code.
+     */
+    public void setCategoryCode(int categoryCode) {
+        this.categoryCode = categoryCode;
+    }
+
+    /**
+     * Returns the score.
+     *
+     * @return The score, or {@link #UNKNOWN} if not scored.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Stores the score.
+     *
+     * @param score The score.
+     */
+    public void setScore(int score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,91 @@
+package pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fused sequence of {@link ResultProcessor} stages. Nested pipelines are
+ * flattened into one array of stages when the pipeline is built, and every
+ * hand runs through all stages before the next hand is read, so however many
+ * stages are composed the data is traversed once per hand and no
+ * intermediate collections are created.
+ *
+ * <p>A pipeline is immutable and thread-safe if its stages are; each thread
+ * should use its own {@link HandResult}.</p>
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class Pipeline implements ResultProcessor {
+
+    private final ResultProcessor[] stages;
+
+    /**
+     * Constructs a pipeline from flattened stages.
+     *
+     * @param stages The stages, none of which is a pipeline.
+     */
+    private Pipeline(ResultProcessor[] stages) {
+        this.stages = stages;
+    }
+
+    /**
+     * Builds a pipeline running the given stages in order.
+     *
+     * @param stages The stages; pipelines among them are flattened.
+     * @return The pipeline.
+     */
+    public static Pipeline of(ResultProcessor... stages) {
+        List<ResultProcessor> flat = new ArrayList<>();
+        for (ResultProcessor stage : stages) {
+            if (stage instanceof Pipeline) {
+                flat.addAll(List.of(((Pipeline) stage).stages));
+            } else {
+                flat.add(stage);
+            }
+        }
+        return new Pipeline(flat.toArray(new ResultProcessor[0]));
+    }
+
+    /**
+     * Returns the number of stages after flattening.
+     *
+     * @return The number of stages.
+     */
+    public int size() {
+        return stages.length;
+    }
+
+    /**
+     * Runs a hand through every stage.
+     *
+     * @param result The state of the hand.
+     */
+    @Override
+    public void process(HandResult result) {
+        for (ResultProcessor stage : stages) {
+            stage.process(result);
+        }
+    }
+
+    /**
+     * Runs every packed hand of a range through the pipeline, reusing a
+     * single result.
+     *
+     * @param hands The packed hands.
+     * @param from The index of the first hand.
+     * @param to The index after the last hand.
+     * @param result The result reused for every hand.
+     * @return The number of hands that no stage rejected.
+     */
+    public int processAll(int[] hands, int from, int to, HandResult result) {
+        int valid = 0;
+        for (int i = from; i < to; i++) {
+            process(result.reset(hands[i]));
+            if (result.isValid()) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+}
@@ -0,0 +1,33 @@
+package pipeline;
+
+/**
+ * A single stage of hand processing. A stage reads and updates a
+ * {@link HandResult}. Every stage sees every hand; stages that transform
+ * hands leave hands rejected by an earlier stage alone, while sinks also
+ * see the rejected ones. Stages are combined with
+ * {@link #andThen(ResultProcessor)} or {@link Pipeline#of(ResultProcessor...)};
+ * the standard stages are created by {@link Stages}.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+@FunctionalInterface
+public interface ResultProcessor {
+
+    /**
+     * Processes a hand.
+     *
+     * @param result The state of the hand.
+     */
+    void process(HandResult result);
+
+    /**
+     * Combines this stage with a following one into a fused pipeline.
+     *
+     * @param next The stage run after this one.
+     * @return The combined pipeline.
+     */
+    default ResultProcessor andThen(ResultProcessor next) {
+        return Pipeline.of(this, next);
+    }
+}
@@ -0,0 +1,203 @@
+package pipeline;
+
+import model.DiceModel;
+import model.HandCategory;
+import model.PackedHand;
+import model.ScoreCategory;
+import model.ValidationError;
+import statistics.CategoryStatistics;
+import utils.HandParser;
+
+import java.util.function.Consumer;
+
+/**
+ * Factory of the standard {@link ResultProcessor} stages: parse, validate,
+ * normalize, classify, score and sink. A typical pipeline is
+ * {@code Pipeline.of(parse(), validate(), normalize(), histogram(),
+ * score(CHANCE), record(statistics))}. Processing stages skip hands
+ * rejected by an earlier stage; sinks see every hand.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class Stages {
+
+    /**
+     * Number of bits holding the count of a single face in the histogram.
+     */
+    static final int COUNT_BITS = 4;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private Stages() {
+    }
+
+    /**
+     * Creates a stage parsing the text of a hand with {@link HandParser}.
+     * Hands given packed pass unchanged.
+     *
+     * @return The parse stage.
+     */
+    public static ResultProcessor parse() {
+        return result -> {
+            if (result.getText() == null || !result.isValid()) {
+                return;
+            }
+            int parsed = HandParser.parse(result.getText());
+            if (HandParser.isError(parsed)) {
+                result.fail(HandParser.errorOf(parsed), HandParser.errorPosition(parsed));
+            } else {
+                result.setHand(parsed);
+            }
+        };
+    }
+
+    /**
+     * Creates a stage rejecting packed hands that are not five dice in the
+     * range 1-6, at the position of the first bad die as
+     * {@link DiceModel#validate(int)} reports it.
+     *
+     * @return The validate stage.
+     */
+    public static ResultProcessor validate() {
+        return result -> {
+            if (result.isValid()) {
+                int position = PackedHand.invalidPosition(result.getHand());
+                if (position >= 0) {
+                    result.fail(ValidationError.OUT_OF_RANGE, position);
+                }
+            }
+        };
+    }
+
+    /**
+     * Creates a stage sorting the dice of a valid hand.
+     *
+     * @return The normalize stage.
+     */
+    public static ResultProcessor normalize() {
+        return result -> {
+            if (result.isValid()) {
+                result.setHand(PackedHand.sort(result.getHand()));
+            }
+        };
+    }
+
+    /**
+     * Creates a stage classifying a valid hand from its face-count
+     * histogram. The dice are read once to build the histogram, which is kept
+     * in the result for later stages, and the category follows from the
+     * largest count and the number of pairs, without scanning the dice
+     * again. The hand must have been validated.
+     *
+     * @return The histogram classify stage.
+     */
+    public static ResultProcessor histogram() {
+        return result -> {
+            if (!result.isValid()) {
+                return;
+            }
+            int hand = result.getHand();
+            long counts = 0;
+            for (int i = 0; i < PackedHand.DICE; i++) {
+                counts += 1L << ((PackedHand.die(hand, i) - 1) * COUNT_BITS);
+            }
+            result.setFaceCounts(counts);
+            result.setCategoryCode(classifyCounts(counts).code());
+        };
+    }
+
+    /**
+     * Creates a stage classifying a hand with the precomputed tables of a
+     * model, rejecting invalid hands at the position of the first bad die.
+     *
+     * @param model The model.
+     * @return The table classify stage.
+     */
+    public static ResultProcessor classify(DiceModel model) {
+        return result -> {
+            if (!result.isValid()) {
+                return;
+            }
+            int code = model.classifyCode(result.getHand());
+            if (code < 0) {
+                result.fail(ValidationError.OUT_OF_RANGE, PackedHand.invalidPosition(result.getHand()));
+            } else {
+                result.setCategoryCode(code);
+            }
+        };
+    }
+
+    /**
+     * Creates a stage scoring a valid hand in a Yatzee category.
+     *
+     * @param category The scoring category.
+     * @return The score stage.
+     */
+    public static ResultProcessor score(ScoreCategory category) {
+        return result -> {
+            if (result.isValid()) {
+                result.setScore(category.score(result.getHand()));
+            }
+        };
+    }
+
+    /**
+     * Creates a sink counting every hand in shared statistics: classified
+     * hands by category, rejected hands by error.
+     *
+     * @param statistics The statistics.
+     * @return The sink stage.
+     */
+    public static ResultProcessor record(CategoryStatistics statistics) {
+        return result -> {
+            if (!result.isValid()) {
+                statistics.recordError(result.getError());
+            } else if (result.getCategoryCode() != HandResult.UNKNOWN) {
+                statistics.recordCode(result.getCategoryCode());
+            }
+        };
+    }
+
+    /**
+     * Creates a sink passing every hand, valid or not, to a consumer.
+     *
+     * @param consumer The consumer; it must not keep the result, which is
+     * reused.
+     * @return The sink stage.
+     */
+    public static ResultProcessor sink(Consumer<HandResult> consumer) {
+        return consumer::accept;
+    }
+
+    /**
+     * Determines the category from the face counts of a hand.
+     *
+     * @param counts The histogram, {@value #COUNT_BITS} bits per face.
+     * @return The category.
+     */
+    private static HandCategory classifyCounts(long counts) {
+        int largest = 0;
+        int pairs = 0;
+        for (int face = 0; face < 6; face++) {
+            int count = (int) (counts >>> (face * COUNT_BITS)) & ((1 << COUNT_BITS) - 1);
+            largest = Math.max(largest, count);
+            if (count == 2) {
+                pairs++;
+            }
+        }
+        switch (largest) {
+            case 5:
+                return HandCategory.FIVE_OF_A_KIND;
+            case 4:
+                return HandCategory.FOUR_OF_A_KIND;
+            case 3:
+                return pairs == 1 ? HandCategory.FULL_HOUSE : HandCategory.THREE_OF_A_KIND;
+            case 2:
+                return pairs == 2 ? HandCategory.TWO_PAIRS : HandCategory.ONE_PAIR;
+            default:
+                return HandCategory.NO_SPECIAL_COMBINATION;
+        }
+    }
+}
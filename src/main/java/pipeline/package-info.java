@@ -0,0 +1,7 @@
+/**
+ * Provides composable stages for processing hands, from parsing text to
+ * recording results, fused into a single pass per hand.
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+package pipeline;
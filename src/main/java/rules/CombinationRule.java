@@ -0,0 +1,135 @@
+package rules;
+
+import java.util.function.Predicate;
+
+/**
+ * A named combination of dice, recognised from how many dice show each face.
+ * Rules are only evaluated while a {@link RuleTable} is compiled, never while
+ * hands are classified, so they may be written for clarity rather than speed.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public interface CombinationRule {
+
+    /**
+     * Returns the message shown for hands of this combination.
+     *
+     * @return The message.
+     */
+    String getMessage();
+
+    /**
+     * Checks if a hand forms this combination.
+     *
+     * @param counts The number of dice showing every face, indexed by face
+     * value; index 0 is unused. The array must not be modified.
+     * @return True if the hand forms the combination, false otherwise.
+     */
+    boolean matches(int[] counts);
+
+    /**
+     * Creates a rule matching hands with at least the given number of dice
+     * showing the same face.
+     *
+     * @param count The number of equal dice.
+     * @param message The message of the combination.
+     * @return The rule.
+     */
+    static CombinationRule ofAKind(int count, String message) {
+        return of(message, counts -> largest(counts, 0) >= count);
+    }
+
+    /**
+     * Creates a rule matching hands with one face shown by at least
+     * {@code first} dice and a different face shown by at least
+     * {@code second} dice, such as a full house (3 and 2) or two pairs
+     * (2 and 2).
+     *
+     * @param first The number of dice of the first face.
+     * @param second The number of dice of the second face.
+     * @param message The message of the combination.
+     * @return The rule.
+     */
+    static CombinationRule groups(int first, int second, String message) {
+        return of(message, counts -> {
+            int largestFace = largestFace(counts);
+            return counts[largestFace] >= first && largest(counts, largestFace) >= second;
+        });
+    }
+
+    /**
+     * Creates a rule matching hands with the given number of consecutive
+     * faces.
+     *
+     * @param length The length of the run.
+     * @param message The message of the combination.
+     * @return The rule.
+     */
+    static CombinationRule straight(int length, String message) {
+        return of(message, counts -> {
+            int run = 0;
+            for (int face = 1; face < counts.length; face++) {
+                run = counts[face] > 0 ? run + 1 : 0;
+                if (run >= length) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Creates a rule from a message and a condition on the face counts.
+     *
+     * @param message The message of the combination.
+     * @param condition The condition.
+     * @return The rule.
+     */
+    static CombinationRule of(String message, Predicate<int[]> condition) {
+        return new CombinationRule() {
+            @Override
+            public String getMessage() {
+                return message;
+            }
+
+            @Override
+            public boolean matches(int[] counts) {
+                return condition.test(counts);
+            }
+        };
+    }
+
+    /**
+     * Returns the largest count of any face other than the excluded one.
+     *
+     * @param counts The face counts.
+     * @param excludedFace The face to skip, or 0 to skip none.
+     * @return The largest count.
+     */
+    private static int largest(int[] counts, int excludedFace) {
+        int largest = 0;
+        for (int face = 1; face < counts.length; face++) {
+            if (face != excludedFace) {
+                largest = Math.max(largest, counts[face]);
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * Returns the face shown by the most dice, the lowest one on ties.
+     *
+     * @param counts The face counts.
+     * @return The face.
+     */
+    private static int largestFace(int[] counts) {
+        int best = 1;
+        for (int face = 2; face < counts.length; face++) {
+            if (counts[face] > counts[best]) {
+                best = face;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,144 @@
+package rules;
+
+import model.HandCategory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rules of a dice game variant: the number of dice, the number of faces of
+ * every die and the ordered combinations a hand is classified into. A hand
+ * belongs to the first combination it matches, or to the fallback if it
+ * matches none. Rules are immutable; {@link #compile()} turns them into a
+ * {@link RuleTable} that classifies hands with a single lookup.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class GameRules {
+
+    /**
+     * Largest number of bits of a packed hand that a table may cover.
+     */
+    static final int MAX_KEY_BITS = 24;
+
+    /**
+     * Rules of the standard game, shared by every caller.
+     */
+    private static final GameRules STANDARD = buildStandard();
+
+    private final int dice;
+    private final int faces;
+    private final List<CombinationRule> combinations;
+    private final String fallbackMessage;
+
+    /**
+     * Constructs the rules of a variant.
+     *
+     * @param dice The number of dice in a hand.
+     * @param faces The number of faces of every die, numbered from 1.
+     * @param combinations The combinations, best first. The list is copied.
+     * @param fallbackMessage The message of hands matching no combination.
+     * @throws IllegalArgumentException If the packed hands of the variant
+     * would not fit a lookup table, or there are more than 127 combinations.
+     */
+    public GameRules(int dice, int faces, List<CombinationRule> combinations, String fallbackMessage) {
+        if (dice < 1 || faces < 2) {
+            throw new IllegalArgumentException("A game needs at least one die with two faces.");
+        }
+        if (dice * bitsPerDie(faces) > MAX_KEY_BITS) {
+            throw new IllegalArgumentException("Too many dice or faces: " + dice + "d" + faces);
+        }
+        if (combinations.size() >= Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many combinations: " + combinations.size());
+        }
+        this.dice = dice;
+        this.faces = faces;
+        this.combinations = List.copyOf(combinations);
+        this.fallbackMessage = fallbackMessage;
+    }
+
+    /**
+     * Returns the rules of the standard game of five six-sided dice, with
+     * the combinations of {@link HandCategory} in the same order, so the
+     * combination codes equal the category codes. Every call returns the
+     * same instance.
+     *
+     * @return The standard rules.
+     */
+    public static GameRules standard() {
+        return STANDARD;
+    }
+
+    /**
+     * Builds the rules of the standard game.
+     *
+     * @return The standard rules.
+     */
+    private static GameRules buildStandard() {
+        List<CombinationRule> combinations = new ArrayList<>();
+        combinations.add(CombinationRule.ofAKind(5, HandCategory.FIVE_OF_A_KIND.getMessage()));
+        combinations.add(CombinationRule.ofAKind(4, HandCategory.FOUR_OF_A_KIND.getMessage()));
+        combinations.add(CombinationRule.groups(3, 2, HandCategory.FULL_HOUSE.getMessage()));
+        combinations.add(CombinationRule.ofAKind(3, HandCategory.THREE_OF_A_KIND.getMessage()));
+        combinations.add(CombinationRule.groups(2, 2, HandCategory.TWO_PAIRS.getMessage()));
+        combinations.add(CombinationRule.ofAKind(2, HandCategory.ONE_PAIR.getMessage()));
+        return new GameRules(5, 6, combinations, HandCategory.NO_SPECIAL_COMBINATION.getMessage());
+    }
+
+    /**
+     * Returns the number of dice in a hand.
+     *
+     * @return The number of dice.
+     */
+    public int getDice() {
+        return dice;
+    }
+
+    /**
+     * Returns the number of faces of every die.
+     *
+     * @return The number of faces.
+     */
+    public int getFaces() {
+        return faces;
+    }
+
+    /**
+     * Returns the combinations, best first.
+     *
+     * @return The unmodifiable list of combinations.
+     */
+    public List<CombinationRule> getCombinations() {
+        return combinations;
+    }
+
+    /**
+     * Returns the message of hands matching no combination.
+     *
+     * @return The fallback message.
+     */
+    public String getFallbackMessage() {
+        return fallbackMessage;
+    }
+
+    /**
+     * Compiles the rules into a lookup table by evaluating them once for
+     * every possible ordered roll.
+     *
+     * @return The compiled table.
+     */
+    public RuleTable compile() {
+        return new RuleTable(this);
+    }
+
+    /**
+     * Returns the number of bits needed to store a face value.
+     *
+     * @param faces The number of faces.
+     * @return The number of bits per die.
+     */
+    static int bitsPerDie(int faces) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(faces);
+    }
+}
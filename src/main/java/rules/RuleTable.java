@@ -0,0 +1,199 @@
+package rules;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compiled form of {@link GameRules}. Hands are packed like
+ * {@link model.PackedHand}, with as many bits per die as the largest face
+ * needs and the first die in the lowest bits, and every possible key is
+ * mapped to its combination code when the table is built. Classifying a hand
+ * is then a single array lookup, whatever the rules.
+ *
+ * <p>Combination codes are the indexes of the combinations in the rules,
+ * followed by the code of the fallback. Instances are immutable and may be
+ * shared between threads.</p>
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class RuleTable {
+
+    private final int dice;
+    private final int faces;
+    private final int bitsPerDie;
+    private final byte[] codeByKey;
+    private final String[] messages;
+
+    /**
+     * Compiles rules into a table by evaluating the combinations once for
+     * every ordered roll.
+     *
+     * @param rules The rules to compile.
+     */
+    RuleTable(GameRules rules) {
+        this.dice = rules.getDice();
+        this.faces = rules.getFaces();
+        this.bitsPerDie = GameRules.bitsPerDie(faces);
+        this.codeByKey = new byte[1 << (dice * bitsPerDie)];
+        Arrays.fill(codeByKey, (byte) -1);
+
+        List<CombinationRule> combinations = rules.getCombinations();
+        messages = new String[combinations.size() + 1];
+        for (int i = 0; i < combinations.size(); i++) {
+            messages[i] = combinations.get(i).getMessage();
+        }
+        messages[combinations.size()] = rules.getFallbackMessage();
+
+        // Walk all ordered rolls like an odometer, keeping the face counts up
+        // to date instead of recounting every roll.
+        int[] values = new int[dice];
+        int[] counts = new int[faces + 1];
+        Arrays.fill(values, 1);
+        counts[1] = dice;
+        while (true) {
+            int key = 0;
+            for (int i = 0; i < dice; i++) {
+                key |= values[i] << (i * bitsPerDie);
+            }
+            codeByKey[key] = (byte) classifyCounts(combinations, counts);
+
+            int position = 0;
+            while (position < dice && values[position] == faces) {
+                counts[faces]--;
+                counts[1]++;
+                values[position] = 1;
+                position++;
+            }
+            if (position == dice) {
+                break;
+            }
+            counts[values[position]]--;
+            values[position]++;
+            counts[values[position]]++;
+        }
+    }
+
+    /**
+     * Returns the number of dice in a hand.
+     *
+     * @return The number of dice.
+     */
+    public int getDice() {
+        return dice;
+    }
+
+    /**
+     * Returns the number of faces of every die.
+     *
+     * @return The number of faces.
+     */
+    public int getFaces() {
+        return faces;
+    }
+
+    /**
+     * Returns the number of combination codes, including the fallback.
+     *
+     * @return The number of codes.
+     */
+    public int getCodeCount() {
+        return messages.length;
+    }
+
+    /**
+     * Returns the message of a combination.
+     *
+     * @param code The combination code.
+     * @return The message.
+     */
+    public String getMessage(int code) {
+        return messages[code];
+    }
+
+    /**
+     * Packs dice values into a hand.
+     *
+     * @param values The value of every die.
+     * @return The packed hand, or -1 if the number of dice or any value is
+     * not valid.
+     */
+    public int pack(int... values) {
+        if (values.length != dice) {
+            return -1;
+        }
+        int key = 0;
+        for (int i = 0; i < dice; i++) {
+            if (values[i] < 1 || values[i] > faces) {
+                return -1;
+            }
+            key |= values[i] << (i * bitsPerDie);
+        }
+        return key;
+    }
+
+    /**
+     * Returns the value of a die of a packed hand.
+     *
+     * @param hand The packed hand.
+     * @param position The position of the die.
+     * @return The value of the die.
+     */
+    public int die(int hand, int position) {
+        return (hand >>> (position * bitsPerDie)) & ((1 << bitsPerDie) - 1);
+    }
+
+    /**
+     * Determines the combination code of a packed hand.
+     *
+     * @param hand The packed hand, with the dice in any order.
+     * @return The combination code, or -1 if the hand is not valid.
+     */
+    public int classify(int hand) {
+        if ((hand & -codeByKey.length) != 0) {
+            return -1;
+        }
+        return codeByKey[hand];
+    }
+
+    /**
+     * Determines the combination codes of a range of packed hands.
+     *
+     * @param hands The packed hands.
+     * @param codes The array receiving the combination codes, -1 for hands
+     * that are not valid.
+     * @param length The number of hands, starting at index 0.
+     * @return The number of hands that were not valid.
+     * @throws IndexOutOfBoundsException If either array is shorter than the
+     * length.
+     */
+    public int classifyAll(int[] hands, byte[] codes, int length) {
+        Objects.checkFromIndexSize(0, length, hands.length);
+        Objects.checkFromIndexSize(0, length, codes.length);
+
+        int invalid = 0;
+        for (int i = 0; i < length; i++) {
+            int code = classify(hands[i]);
+            codes[i] = (byte) code;
+            invalid += code >>> 31;
+        }
+        return invalid;
+    }
+
+    /**
+     * Finds the first combination matched by a hand.
+     *
+     * @param combinations The combinations, best first.
+     * @param counts The number of dice showing every face.
+     * @return The index of the combination, or the fallback code.
+     */
+    private static int classifyCounts(List<CombinationRule> combinations, int[] counts) {
+        for (int i = 0; i < combinations.size(); i++) {
+            if (combinations.get(i).matches(counts)) {
+                return i;
+            }
+        }
+        return combinations.size();
+    }
+}
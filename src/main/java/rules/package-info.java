@@ -0,0 +1,7 @@
+/**
+ * Provides configurable game rules, covering the number of dice, faces and
+ * combinations, compiled into lookup tables.
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+package rules;
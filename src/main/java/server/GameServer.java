@@ -0,0 +1,360 @@
+package server;
+
+import journal.GameJournal;
+import model.DiceModel;
+import statistics.CategoryStatistics;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless server hosting many simultaneous {@link GameSession}s over a local
+ * socket. Every connection is served by its own thread running blocking reads
+ * and writes; on a runtime with virtual threads every session gets a virtual
+ * thread, otherwise a cached pool of platform threads is used. All sessions
+ * share a single stateless {@link DiceModel}, and an optional
+ * {@link GameJournal} receiving every roll under the id the acceptor gave its
+ * session, counting from 1.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class GameServer implements AutoCloseable {
+
+    /**
+     * Pause before accepting again after a failed accept, in milliseconds.
+     */
+    static final long ACCEPT_BACKOFF_MILLIS = 100;
+
+    private final DiceModel model;
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions;
+    private final SplittableRandom seeds;
+    private final GameJournal journal;
+    private final CategoryStatistics statistics = new CategoryStatistics();
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final Thread acceptor;
+    private int nextSessionId = 1;
+
+    /**
+     * Constructs a server listening on the loopback interface. The server
+     * accepts connections after {@link #start()} is called.
+     *
+     * @param model The model shared by all sessions.
+     * @param port The port to listen on, or 0 for any free port.
+     * @param seed The seed from which the generators of sessions are split.
+     * @throws IOException If the port cannot be bound.
+     */
+    public GameServer(DiceModel model, int port, long seed) throws IOException {
+        this(model, port, seed, null);
+    }
+
+    /**
+     * Constructs a server listening on the loopback interface whose sessions
+     * append every roll to a journal. The journal is not closed with the
+     * server.
+     *
+     * @param model The model shared by all sessions.
+     * @param port The port to listen on, or 0 for any free port.
+     * @param seed The seed from which the generators of sessions are split.
+     * @param journal The journal receiving the rolls, or null.
+     * @throws IOException If the port cannot be bound.
+     */
+    public GameServer(DiceModel model, int port, long seed, GameJournal journal) throws IOException {
+        this.model = model;
+        this.journal = journal;
+        this.serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        this.sessions = newSessionExecutor();
+        this.seeds = new SplittableRandom(seed);
+        this.acceptor = new Thread(this::acceptConnections, "game-server-acceptor");
+    }
+
+    /**
+     * Starts accepting connections in the background.
+     */
+    public void start() {
+        acceptor.start();
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return The local port.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns the statistics of the hands rolled by all sessions.
+     *
+     * @return The shared statistics.
+     */
+    public CategoryStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Returns the number of sessions currently connected.
+     *
+     * @return The number of active sessions.
+     */
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * Stops accepting connections and disconnects the running sessions. Every
+     * connection is closed and the sessions are stopped even if closing a
+     * socket fails.
+     *
+     * @throws IOException The first failure to close the server socket or a
+     * connection, with any later ones suppressed.
+     */
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        try {
+            serverSocket.close();
+        } catch (IOException ex) {
+            failure = ex;
+        }
+        // Blocking socket reads do not react to interrupts, closing unblocks them.
+        for (Socket socket : connections) {
+            try {
+                socket.close();
+            } catch (IOException ex) {
+                if (failure == null) {
+                    failure = ex;
+                } else {
+                    failure.addSuppressed(ex);
+                }
+            }
+        }
+        sessions.shutdownNow();
+        try {
+            sessions.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Runs the server from command-line arguments of the form
+     * {@code --server <port> [--journal <file>]}, serving until the process
+     * is stopped. With a journal, every roll is appended to it, and the
+     * journal is committed and closed when the process stops.
+     *
+     * @param args Command-line arguments.
+     * @param out The stream receiving status messages.
+     * @return The exit status of the run.
+     */
+    public static int run(String[] args, PrintStream out) {
+        int port;
+        Path journalFile = null;
+        try {
+            port = Integer.parseInt(args[1]);
+            for (int i = 2; i < args.length; i++) {
+                if (args[i].equals("--journal")) {
+                    journalFile = Path.of(args[++i]);
+                } else {
+                    throw new IllegalArgumentException(args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException ex) {
+            out.println("Usage: --server <port> [--journal <file>]");
+            return 2;
+        }
+
+        GameJournal journal = null;
+        try {
+            journal = journalFile == null ? null : new GameJournal(journalFile, true);
+            GameServer server = new GameServer(new DiceModel(), port, System.nanoTime(), journal);
+            GameJournal serverJournal = journal;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> server.shutdown(serverJournal),
+                    "game-server-shutdown"));
+            server.start();
+            out.println("Serving dice games on port " + server.getPort());
+            server.acceptor.join();
+            return 0;
+        } catch (IOException ex) {
+            out.println("Cannot start server: " + ex.getMessage());
+            closeQuietly(journal);
+            return 1;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return 1;
+        }
+    }
+
+    /**
+     * Closes the server and then its journal when the process stops.
+     *
+     * @param journal The journal of the server, or null.
+     */
+    private void shutdown(GameJournal journal) {
+        try {
+            close();
+        } catch (IOException ex) {
+            System.err.println("Cannot close the server: " + ex.getMessage());
+        }
+        closeQuietly(journal);
+    }
+
+    /**
+     * Commits and closes a journal, reporting a failure on the standard
+     * error stream.
+     *
+     * @param journal The journal, or null.
+     */
+    private static void closeQuietly(GameJournal journal) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException ex) {
+            System.err.println("Cannot close the journal: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Accepts connections until the server socket is closed, handing every
+     * connection to its own session thread. A failed accept is retried after
+     * a short pause. A connection is registered
+     * before its session starts, so {@link #close()} always disconnects it.
+     */
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.add(socket);
+                if (serverSocket.isClosed()) {
+                    // Closed after the socket was accepted, maybe after it was disconnected.
+                    disconnect(socket);
+                    return;
+                }
+                // The acceptor is the only user of the seed generator and session ids.
+                SplittableRandom random = seeds.split();
+                int id = nextSessionId++;
+                try {
+                    sessions.execute(() -> serve(socket, random, id));
+                } catch (RejectedExecutionException ex) {
+                    disconnect(socket);
+                }
+            } catch (IOException ex) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+                // Other failures, such as an aborted connection or too many
+                // open files, may clear; retry without spinning.
+                try {
+                    Thread.sleep(ACCEPT_BACKOFF_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes a connection whose session never started.
+     *
+     * @param socket The client connection.
+     */
+    private void disconnect(Socket socket) {
+        connections.remove(socket);
+        try {
+            socket.close();
+        } catch (IOException ex) {
+            // The connection is dropped either way.
+        }
+    }
+
+    /**
+     * Plays a session over a connection until the client quits or
+     * disconnects.
+     *
+     * @param socket The client connection.
+     * @param random The generator owned by the session.
+     * @param id The id of the session in the journal.
+     */
+    private void serve(Socket socket, SplittableRandom random, int id) {
+        activeSessions.incrementAndGet();
+        GameSession session = new GameSession(model, statistics, random, journal, id);
+        try (socket;
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(new BufferedWriter(
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)))) {
+            writeLine(out, "READY");
+            String line;
+            while (!session.isClosed() && (line = in.readLine()) != null) {
+                if (!line.isBlank()) {
+                    writeLine(out, session.handle(line));
+                }
+            }
+        } catch (IOException ex) {
+            // The client disconnected; nothing else shares the session.
+        } finally {
+            connections.remove(socket);
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    /**
+     * Writes and flushes a single response line.
+     *
+     * @param out The writer of the connection.
+     * @param line The line to write.
+     */
+    private static void writeLine(PrintWriter out, String line) {
+        out.print(line);
+        out.print('\n');
+        out.flush();
+    }
+
+    /**
+     * Creates the executor running one thread per session. Virtual threads
+     * are used when the runtime provides them, looked up reflectively so the
+     * project still builds and runs on Java 17.
+     *
+     * @return The session executor.
+     */
+    static ExecutorService newSessionExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "game-session");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package server;
+
+import journal.GameJournal;
+import model.DiceModel;
+import model.HandCategory;
+import model.PackedHand;
+import model.ScoreCategory;
+import model.Scorecard;
+import statistics.CategoryStatistics;
+import statistics.StatisticsSnapshot;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * State of a single Yatzee game played over the line protocol. A session owns
+ * its scorecard, random generator and roll history, and shares only the
+ * stateless {@link DiceModel} with other sessions, so sessions never need to
+ * synchronise with each other. Sessions of a server with a journal also
+ * append every roll to it under their session id.
+ *
+ * <p>Commands, one per line, case insensitive:</p>
+ * <ul>
+ * <li>{@code ROLL} - rolls five new dice at the start of a turn,</li>
+ * <li>{@code HOLD [positions]} - rerolls every die except the listed ones
+ * (1-5),</li>
+ * <li>{@code SCORE <category>} - scores the hand, e.g. {@code SCORE FULL_HOUSE},</li>
+ * <li>{@code CARD} - shows the scorecard totals,</li>
+ * <li>{@code HISTORY} - shows the hands rolled in this game,</li>
+ * <li>{@code STATS} - shows the categories rolled by all sessions,</li>
+ * <li>{@code QUIT} - ends the session.</li>
+ * </ul>
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class GameSession {
+
+    /**
+     * Number of rolls allowed in a turn.
+     */
+    public static final int ROLLS_PER_TURN = 3;
+
+    /**
+     * Largest number of rolls in a game.
+     */
+    private static final int MAX_HISTORY = ROLLS_PER_TURN * ScoreCategory.values().length;
+
+    private final DiceModel model;
+    private final CategoryStatistics statistics;
+    private final SplittableRandom random;
+    private final GameJournal journal;
+    private final int id;
+    private final int[] history = new int[MAX_HISTORY];
+    private Scorecard scorecard = new Scorecard();
+    private int historySize;
+    private int hand = PackedHand.INVALID;
+    private int rollsInTurn;
+    private boolean closed;
+
+    /**
+     * Constructs a session.
+     *
+     * @param model The model shared by all sessions.
+     * @param statistics The statistics shared by all sessions.
+     * @param random The generator owned by this session.
+     */
+    public GameSession(DiceModel model, CategoryStatistics statistics, SplittableRandom random) {
+        this(model, statistics, random, null, 0);
+    }
+
+    /**
+     * Constructs a session journaling its rolls.
+     *
+     * @param model The model shared by all sessions.
+     * @param statistics The statistics shared by all sessions.
+     * @param random The generator owned by this session.
+     * @param journal The journal shared by all sessions, or null.
+     * @param id The id of this session in the journal.
+     */
+    public GameSession(DiceModel model, CategoryStatistics statistics, SplittableRandom random,
+                       GameJournal journal, int id) {
+        this.model = model;
+        this.statistics = statistics;
+        this.random = random;
+        this.journal = journal;
+        this.id = id;
+    }
+
+    /**
+     * Returns the id of this session in the journal.
+     *
+     * @return The session id.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Handles a single command line.
+     *
+     * @param line The command received from the client.
+     * @return The response line sent back to the client.
+     */
+    public String handle(String line) {
+        String[] tokens = tokens(line);
+        if (tokens.length == 0) {
+            return "ERROR Unknown command: ";
+        }
+        switch (tokens[0].toUpperCase(Locale.ROOT)) {
+            case "ROLL":
+                return roll();
+            case "HOLD":
+                return hold(tokens);
+            case "SCORE":
+                return tokens.length == 2 ? score(tokens[1]) : "ERROR Usage: SCORE <category>";
+            case "CARD":
+                return card();
+            case "HISTORY":
+                return history();
+            case "STATS":
+                return stats();
+            case "QUIT":
+                closed = true;
+                return "BYE";
+            default:
+                return "ERROR Unknown command: " + tokens[0];
+        }
+    }
+
+    /**
+     * Checks if the client has ended the session.
+     *
+     * @return True after the {@code QUIT} command, false otherwise.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Returns the scorecard of the current game.
+     *
+     * @return The scorecard.
+     */
+    public Scorecard getScorecard() {
+        return scorecard;
+    }
+
+    /**
+     * Rolls five new dice at the start of a turn.
+     *
+     * @return The response line.
+     */
+    private String roll() {
+        if (rollsInTurn > 0) {
+            return "ERROR Turn already started, use HOLD or SCORE.";
+        }
+        if (scorecard.isComplete()) {
+            scorecard = new Scorecard();
+            historySize = 0;
+        }
+        return reroll(0);
+    }
+
+    /**
+     * Rerolls every die except the given positions.
+     *
+     * @param tokens The command tokens; the positions follow the command.
+     * @return The response line.
+     */
+    private String hold(String[] tokens) {
+        if (rollsInTurn == 0) {
+            return "ERROR Use ROLL to start a turn.";
+        }
+        if (rollsInTurn == ROLLS_PER_TURN) {
+            return "ERROR No rerolls left, use SCORE.";
+        }
+        int keepMask = 0;
+        for (int i = 1; i < tokens.length; i++) {
+            char position = tokens[i].length() == 1 ? tokens[i].charAt(0) : 0;
+            if (position < '1' || position > '5') {
+                return "ERROR Positions must be between 1 and 5.";
+            }
+            keepMask |= 1 << (position - '1');
+        }
+        return reroll(keepMask);
+    }
+
+    /**
+     * Rerolls the dice not selected by a mask and records the new hand. If
+     * the roll cannot be journaled the session ends, so no roll goes
+     * unrecorded.
+     *
+     * @param keepMask The mask of dice to keep.
+     * @return The response line describing the hand.
+     */
+    private String reroll(int keepMask) {
+        int next = 0;
+        for (int i = 0; i < PackedHand.DICE; i++) {
+            int die = (keepMask & (1 << i)) != 0 ? PackedHand.die(hand, i) : random.nextInt(6) + 1;
+            next |= die << (i * 3);
+        }
+        hand = next;
+        rollsInTurn++;
+        history[historySize++] = hand;
+        HandCategory category = model.classify(hand);
+        statistics.record(category);
+        if (journal != null) {
+            try {
+                journal.append(id, hand, category);
+            } catch (IOException ex) {
+                closed = true;
+                return "ERROR Cannot journal the roll: " + ex.getMessage();
+            }
+        }
+        return "HAND " + dice(hand) + " REROLLS " + (ROLLS_PER_TURN - rollsInTurn) + " " + category.getMessage();
+    }
+
+    /**
+     * Scores the current hand in a category and ends the turn.
+     *
+     * @param name The name of the category.
+     * @return The response line.
+     */
+    private String score(String name) {
+        if (rollsInTurn == 0) {
+            return "ERROR Use ROLL to start a turn.";
+        }
+        ScoreCategory category;
+        try {
+            category = ScoreCategory.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return "ERROR Unknown category: " + name;
+        }
+        if (scorecard.isUsed(category)) {
+            return "ERROR " + category.getDisplayName() + " is already used.";
+        }
+
+        int points = scorecard.score(category, hand);
+        rollsInTurn = 0;
+        if (scorecard.isComplete()) {
+            return "GAME OVER " + scorecard.getTotal();
+        }
+        return "SCORED " + points + " TOTAL " + scorecard.getTotal();
+    }
+
+    /**
+     * Describes the scorecard totals.
+     *
+     * @return The response line.
+     */
+    private String card() {
+        StringBuilder text = new StringBuilder("CARD");
+        for (ScoreCategory category : ScoreCategory.values()) {
+            text.append(' ').append(category.name()).append('=')
+                    .append(scorecard.isUsed(category) ? String.valueOf(scorecard.getScore(category)) : "-");
+        }
+        return text.append(" BONUS=").append(scorecard.getUpperBonus() + scorecard.getYatzeeBonus())
+                .append(" TOTAL=").append(scorecard.getTotal()).toString();
+    }
+
+    /**
+     * Describes the hands rolled in this game.
+     *
+     * @return The response line.
+     */
+    private String history() {
+        StringBuilder text = new StringBuilder("HISTORY ").append(historySize);
+        for (int i = 0; i < historySize; i++) {
+            text.append(" | ").append(dice(history[i]));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Describes the hands rolled by all sessions of the server.
+     *
+     * @return The response line.
+     */
+    private String stats() {
+        StatisticsSnapshot snapshot = statistics.snapshot();
+        StringBuilder text = new StringBuilder("STATS ").append(snapshot.getTotal());
+        for (HandCategory category : HandCategory.values()) {
+            text.append(' ').append(category.name()).append('=').append(snapshot.getCount(category));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Splits a command line into tokens separated by whitespace or control
+     * characters, scanning the line by hand instead of with a regular
+     * expression.
+     *
+     * @param line The command line.
+     * @return The tokens, possibly none.
+     */
+    static String[] tokens(String line) {
+        int count = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) > ' ' && (i == 0 || line.charAt(i - 1) <= ' ')) {
+                count++;
+            }
+        }
+        String[] tokens = new String[count];
+        int token = 0;
+        int start = -1;
+        for (int i = 0; i <= line.length(); i++) {
+            boolean separator = i == line.length() || line.charAt(i) <= ' ';
+            if (!separator && start < 0) {
+                start = i;
+            } else if (separator && start >= 0) {
+                tokens[token++] = line.substring(start, i);
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Formats the dice of a hand separated by spaces.
+     *
+     * @param packedHand The packed hand.
+     * @return The dice values.
+     */
+    private static String dice(int packedHand) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < PackedHand.DICE; i++) {
+            text.append(i == 0 ? "" : " ").append(PackedHand.die(packedHand, i));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * Provides a headless server hosting many simultaneous dice game sessions
+ * over a simple line protocol.
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+package server;
@@ -0,0 +1,89 @@
+package simulation;
+
+import model.DiceModel;
+import model.HandCategory;
+import model.PackedHand;
+
+/**
+ * Exact probabilities of every category, obtained by classifying the 252
+ * sorted hands with {@link DiceModel} and weighting each by the number of
+ * ordered rolls that produce it. The probabilities are computed once, on
+ * first use, and served from a cache afterwards.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class ExactProbabilities {
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private ExactProbabilities() {
+    }
+
+    /**
+     * Lazily initialised holder of the cached results.
+     */
+    private static final class Holder {
+
+        /**
+         * Number of ordered rolls in every category.
+         */
+        static final long[] COUNTS = new long[HandCategory.values().length];
+
+        /**
+         * Probability of every category.
+         */
+        static final Probability[] PROBABILITIES = new Probability[COUNTS.length];
+
+        static {
+            DiceModel model = new DiceModel();
+            for (int index = 0; index < PackedHand.HAND_COUNT; index++) {
+                COUNTS[model.classifyCode(PackedHand.fromIndex(index))] += PackedHand.multiplicity(index);
+            }
+            for (int code = 0; code < COUNTS.length; code++) {
+                PROBABILITIES[code] = new Probability(COUNTS[code], PackedHand.ROLL_COUNT);
+            }
+        }
+    }
+
+    /**
+     * Returns the exact probability of rolling a hand in the given category.
+     *
+     * @param category The category.
+     * @return The probability of the category.
+     */
+    public static Probability of(HandCategory category) {
+        return Holder.PROBABILITIES[category.code()];
+    }
+
+    /**
+     * Returns the number of the 7776 ordered rolls in the given category.
+     *
+     * @param category The category.
+     * @return The number of ordered rolls.
+     */
+    public static long rollCount(HandCategory category) {
+        return Holder.COUNTS[category.code()];
+    }
+
+    /**
+     * Computes the chi-squared statistic of a simulation result against the
+     * exact distribution. With six degrees of freedom, values above 22.46
+     * reject the simulation at the 0.1% significance level.
+     *
+     * @param result The result of a simulation.
+     * @return The chi-squared statistic, or 0 if no hands were rolled.
+     */
+    public static double chiSquare(SimulationResult result) {
+        double statistic = 0.0;
+        for (HandCategory category : HandCategory.values()) {
+            double expected = of(category).doubleValue() * result.getTotal();
+            if (expected > 0) {
+                double difference = result.getCount(category) - expected;
+                statistic += difference * difference / expected;
+            }
+        }
+        return statistic;
+    }
+}
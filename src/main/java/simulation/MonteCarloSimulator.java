@@ -0,0 +1,153 @@
+package simulation;
+
+import model.DiceModel;
+import model.HandCategory;
+import model.PackedHand;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Headless Monte Carlo engine that rolls random hands, classifies them with
+ * {@link DiceModel} and counts the categories. The rolls are divided into
+ * fixed-size chunks which are split recursively on a fork/join pool; every
+ * chunk draws from its own {@link SplittableRandom} derived from the seed by
+ * the split tree, so the result depends only on the seed and the number of
+ * rolls, never on the number of threads.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class MonteCarloSimulator {
+
+    /**
+     * Number of rolls processed sequentially by a single task.
+     */
+    static final int CHUNK_SIZE = 1 << 16;
+
+    /**
+     * Packed hand for every ordered roll number (0-7775), so a roll needs a
+     * single random number.
+     */
+    private static final int[] HAND_BY_ROLL = new int[PackedHand.ROLL_COUNT];
+
+    static {
+        int[] dice = new int[PackedHand.DICE];
+        for (int roll = 0; roll < HAND_BY_ROLL.length; roll++) {
+            int rest = roll;
+            for (int i = 0; i < dice.length; i++) {
+                dice[i] = rest % 6 + 1;
+                rest /= 6;
+            }
+            HAND_BY_ROLL[roll] = PackedHand.of(dice[0], dice[1], dice[2], dice[3], dice[4]);
+        }
+    }
+
+    private final DiceModel model;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a simulator running on the common fork/join pool.
+     *
+     * @param model The model used to classify the hands.
+     */
+    public MonteCarloSimulator(DiceModel model) {
+        this(model, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a simulator running on the given pool.
+     *
+     * @param model The model used to classify the hands.
+     * @param pool The pool executing the simulation tasks.
+     */
+    public MonteCarloSimulator(DiceModel model, ForkJoinPool pool) {
+        this.model = model;
+        this.pool = pool;
+    }
+
+    /**
+     * Rolls the given number of random hands and counts their categories.
+     *
+     * @param rolls The number of hands to roll.
+     * @param seed The seed of the random number generator.
+     * @return The number of hands rolled in every category.
+     * @throws IllegalArgumentException If the number of rolls is negative.
+     */
+    public SimulationResult simulate(long rolls, long seed) {
+        if (rolls < 0) {
+            throw new IllegalArgumentException("Number of rolls cannot be negative.");
+        }
+        long chunks = (rolls + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        if (chunks == 0) {
+            return new SimulationResult(new long[HandCategory.values().length]);
+        }
+        return new SimulationResult(pool.invoke(new RollTask(0, chunks, rolls, new SplittableRandom(seed))));
+    }
+
+    /**
+     * Returns a random packed hand.
+     *
+     * @param random The generator to draw from.
+     * @return A packed hand with the dice in rolling order.
+     */
+    static int roll(SplittableRandom random) {
+        return HAND_BY_ROLL[random.nextInt(HAND_BY_ROLL.length)];
+    }
+
+    /**
+     * Task counting the categories of the hands in a range of chunks.
+     */
+    private final class RollTask extends RecursiveTask<long[]> {
+
+        /**
+         * Version of the serialized form, which is never used.
+         */
+        private static final long serialVersionUID = 1L;
+
+        private final long firstChunk;
+        private final long endChunk;
+        private final long rolls;
+        private final SplittableRandom random;
+
+        /**
+         * Constructs a task for a range of chunks.
+         *
+         * @param firstChunk The index of the first chunk.
+         * @param endChunk The index after the last chunk.
+         * @param rolls The total number of rolls of the simulation.
+         * @param random The generator owned by this task.
+         */
+        RollTask(long firstChunk, long endChunk, long rolls, SplittableRandom random) {
+            this.firstChunk = firstChunk;
+            this.endChunk = endChunk;
+            this.rolls = rolls;
+            this.random = random;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (endChunk - firstChunk > 1) {
+                // Split the generator before forking so the tree is the same for any pool.
+                long middle = (firstChunk + endChunk) >>> 1;
+                RollTask left = new RollTask(firstChunk, middle, rolls, random.split());
+                RollTask right = new RollTask(middle, endChunk, rolls, random);
+                left.fork();
+                long[] counts = right.compute();
+                long[] leftCounts = left.join();
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] += leftCounts[i];
+                }
+                return counts;
+            }
+
+            long[] counts = new long[HandCategory.values().length];
+            long chunkRolls = Math.min(CHUNK_SIZE, rolls - firstChunk * CHUNK_SIZE);
+            for (long i = 0; i < chunkRolls; i++) {
+                counts[model.classifyCode(roll(random))]++;
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package simulation;
+
+/**
+ * Immutable exact probability stored as a reduced fraction.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class Probability implements Comparable<Probability> {
+
+    private final long numerator;
+    private final long denominator;
+
+    /**
+     * Constructs a probability from a fraction, reducing it to lowest terms.
+     *
+     * @param numerator The number of favourable outcomes.
+     * @param denominator The number of all outcomes.
+     * @throws IllegalArgumentException If the fraction is not between 0 and 1.
+     */
+    public Probability(long numerator, long denominator) {
+        if (denominator <= 0 || numerator < 0 || numerator > denominator) {
+            throw new IllegalArgumentException("Not a probability: " + numerator + "/" + denominator);
+        }
+        long divisor = gcd(numerator, denominator);
+        this.numerator = numerator / divisor;
+        this.denominator = denominator / divisor;
+    }
+
+    /**
+     * Returns the numerator of the reduced fraction.
+     *
+     * @return The numerator.
+     */
+    public long getNumerator() {
+        return numerator;
+    }
+
+    /**
+     * Returns the denominator of the reduced fraction.
+     *
+     * @return The denominator.
+     */
+    public long getDenominator() {
+        return denominator;
+    }
+
+    /**
+     * Returns the probability as a floating point number.
+     *
+     * @return The value of the fraction.
+     */
+    public double doubleValue() {
+        return (double) numerator / denominator;
+    }
+
+    /**
+     * Computes the greatest common divisor of two non-negative numbers.
+     *
+     * @param a The first number.
+     * @param b The second number.
+     * @return The greatest common divisor.
+     */
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long rest = a % b;
+            a = b;
+            b = rest;
+        }
+        return a;
+    }
+
+    @Override
+    public int compareTo(Probability other) {
+        return Long.compare(numerator * other.denominator, other.numerator * denominator);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Probability)) {
+            return false;
+        }
+        Probability other = (Probability) o;
+        return numerator == other.numerator && denominator == other.denominator;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(numerator) * 31 + Long.hashCode(denominator);
+    }
+
+    @Override
+    public String toString() {
+        return numerator + "/" + denominator;
+    }
+}
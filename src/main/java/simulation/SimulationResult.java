@@ -0,0 +1,94 @@
+package simulation;
+
+import model.HandCategory;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Immutable result of a simulation run, holding the number of rolled hands
+ * in every category.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class SimulationResult {
+
+    private final long[] counts;
+    private final long total;
+
+    /**
+     * Constructs a result from the counts of every category.
+     *
+     * @param counts The number of hands per category code. The array is
+     * copied.
+     */
+    public SimulationResult(long[] counts) {
+        if (counts.length != HandCategory.values().length) {
+            throw new IllegalArgumentException("Expected one count per category.");
+        }
+        this.counts = counts.clone();
+        this.total = Arrays.stream(counts).sum();
+    }
+
+    /**
+     * Returns the total number of rolled hands.
+     *
+     * @return The number of hands.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the number of hands in the given category.
+     *
+     * @param category The category.
+     * @return The number of hands in the category.
+     */
+    public long getCount(HandCategory category) {
+        return counts[category.code()];
+    }
+
+    /**
+     * Returns the relative frequency of the given category.
+     *
+     * @param category The category.
+     * @return The fraction of hands in the category, or 0 if no hands were
+     * rolled.
+     */
+    public double getFrequency(HandCategory category) {
+        return total == 0 ? 0.0 : (double) getCount(category) / total;
+    }
+
+    /**
+     * Returns a copy of the counts of every category.
+     *
+     * @return The number of hands per category code.
+     */
+    public long[] getCounts() {
+        return counts.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SimulationResult && Arrays.equals(counts, ((SimulationResult) o).counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(counts);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("Rolled hands: ").append(total);
+        for (HandCategory category : HandCategory.values()) {
+            text.append(System.lineSeparator())
+                    .append(category.getMessage()).append(' ')
+                    .append(getCount(category)).append(' ')
+                    .append(String.format(Locale.ROOT, "(%.6f)", getFrequency(category)));
+        }
+        return text.toString();
+    }
+}
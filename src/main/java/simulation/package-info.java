@@ -0,0 +1,7 @@
+/**
+ * Provides headless engines that roll and evaluate large numbers of dice
+ * hands to validate game probabilities.
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+package simulation;
@@ -0,0 +1,98 @@
+package statistics;
+
+import model.HandCategory;
+import model.ValidationError;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counts of evaluated hands per {@link HandCategory}, shared by any
+ * number of threads. Every category has its own {@link LongAdder}, which
+ * spreads concurrent increments over internal cells instead of contending on
+ * a single value, so recording never takes a lock.
+ *
+ * <p>Reads are cheap but not atomic across categories: a snapshot taken
+ * while other threads record may include some of their hands and not
+ * others. Counts are never lost.</p>
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class CategoryStatistics {
+
+    private final LongAdder[] counts = new LongAdder[HandCategory.values().length];
+    private final LongAdder invalid = new LongAdder();
+    private final LongAdder[] errors = new LongAdder[ValidationError.values().length];
+    private final long startNanos;
+
+    /**
+     * Constructs empty statistics. Throughput is measured from this moment.
+     */
+    public CategoryStatistics() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+        for (int i = 0; i < errors.length; i++) {
+            errors[i] = new LongAdder();
+        }
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Counts a hand of the given category.
+     *
+     * @param category The category of the hand.
+     */
+    public void record(HandCategory category) {
+        counts[category.code()].increment();
+    }
+
+    /**
+     * Counts a hand by its category code, as returned by
+     * {@link model.DiceModel#classifyCode(int)}.
+     *
+     * @param code The category code, or -1 for an invalid hand.
+     */
+    public void recordCode(int code) {
+        if (code < 0) {
+            invalid.increment();
+        } else {
+            counts[code].increment();
+        }
+    }
+
+    /**
+     * Counts a hand that could not be evaluated, for an unknown reason.
+     */
+    public void recordInvalid() {
+        invalid.increment();
+    }
+
+    /**
+     * Counts a hand that could not be evaluated, by the reason of the
+     * failure.
+     *
+     * @param error The reason of the failure.
+     */
+    public void recordError(ValidationError error) {
+        invalid.increment();
+        errors[error.ordinal()].increment();
+    }
+
+    /**
+     * Takes a snapshot of the current counts.
+     *
+     * @return The snapshot.
+     */
+    public StatisticsSnapshot snapshot() {
+        long[] values = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            values[i] = counts[i].sum();
+        }
+        long[] errorValues = new long[errors.length];
+        for (int i = 0; i < errors.length; i++) {
+            errorValues[i] = errors[i].sum();
+        }
+        return new StatisticsSnapshot(values, invalid.sum(), errorValues, System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,113 @@
+package statistics;
+
+import model.HandCategory;
+import model.ValidationError;
+
+import java.util.Locale;
+
+/**
+ * Immutable snapshot of {@link CategoryStatistics}, holding the number of
+ * hands in every category, the invalid hands by reason and the time over
+ * which they were recorded.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class StatisticsSnapshot {
+
+    private final long[] counts;
+    private final long invalid;
+    private final long[] errors;
+    private final long elapsedNanos;
+
+    /**
+     * Constructs a snapshot.
+     *
+     * @param counts The number of hands per category code. The array is not
+     * copied and must not be modified afterwards.
+     * @param invalid The number of invalid hands.
+     * @param errors The number of invalid hands per error code, not counting
+     * those recorded without a reason. The array is not copied.
+     * @param elapsedNanos The time since the statistics were created.
+     */
+    StatisticsSnapshot(long[] counts, long invalid, long[] errors, long elapsedNanos) {
+        this.counts = counts;
+        this.invalid = invalid;
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the number of valid hands in a category.
+     *
+     * @param category The category.
+     * @return The number of hands.
+     */
+    public long getCount(HandCategory category) {
+        return counts[category.code()];
+    }
+
+    /**
+     * Returns the number of invalid hands.
+     *
+     * @return The number of hands that could not be evaluated.
+     */
+    public long getInvalid() {
+        return invalid;
+    }
+
+    /**
+     * Returns the number of hands rejected for a reason.
+     *
+     * @param error The reason.
+     * @return The number of hands.
+     */
+    public long getInvalid(ValidationError error) {
+        return errors[error.ordinal()];
+    }
+
+    /**
+     * Returns the number of recorded hands, valid or not.
+     *
+     * @return The number of hands.
+     */
+    public long getTotal() {
+        long total = invalid;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the time over which the hands were recorded.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the average number of hands recorded per second.
+     *
+     * @return The throughput, or 0 if no time has elapsed.
+     */
+    public double getThroughput() {
+        return elapsedNanos > 0 ? getTotal() * 1e9 / elapsedNanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("Evaluated hands: ").append(getTotal());
+        for (HandCategory category : HandCategory.values()) {
+            text.append(System.lineSeparator()).append(category.getMessage()).append(' ').append(getCount(category));
+        }
+        text.append(System.lineSeparator()).append("Invalid hands: ").append(invalid);
+        for (ValidationError error : ValidationError.values()) {
+            text.append(System.lineSeparator()).append(error.getMessage()).append(' ').append(getInvalid(error));
+        }
+        return text.append(System.lineSeparator())
+                .append(String.format(Locale.ROOT, "Throughput: %.1f hands/s", getThroughput())).toString();
+    }
+}
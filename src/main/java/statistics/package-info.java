@@ -0,0 +1,6 @@
+/**
+ * Provides lock-free statistics shared by threads evaluating hands.
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+package statistics;
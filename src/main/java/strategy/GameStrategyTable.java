@@ -0,0 +1,455 @@
+package strategy;
+
+import model.PackedHand;
+import model.ScoreCategory;
+import model.Scorecard;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+
+/**
+ * Optimal strategy for a solitaire game of Yatzee. A game state is the mask
+ * of used scoring categories together with the upper section subtotal, capped
+ * at the 63 points needed for the bonus; the table holds the expected number
+ * of points still to be scored from every state when playing optimally. It is
+ * computed by backward induction over the states with more used categories
+ * first, each layer in parallel, and it can be saved to a binary file that is
+ * memory-mapped when loaded instead of being recomputed.
+ *
+ * <p>The upper section bonus is included; Yatzee bonuses and joker rules are
+ * not, because they would need more state than the table holds.</p>
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class GameStrategyTable {
+
+    /**
+     * Number of scoring categories.
+     */
+    public static final int CATEGORY_COUNT = 13;
+
+    /**
+     * Upper section subtotal needed for the bonus.
+     */
+    public static final int UPPER_BONUS_THRESHOLD = Scorecard.UPPER_BONUS_THRESHOLD;
+
+    /**
+     * Points awarded for reaching the upper section threshold.
+     */
+    public static final int UPPER_BONUS = Scorecard.UPPER_BONUS;
+
+    /**
+     * Number of game states held by the table.
+     */
+    public static final int STATE_COUNT = (1 << CATEGORY_COUNT) * (UPPER_BONUS_THRESHOLD + 1);
+
+    /**
+     * Marker at the start of a saved table.
+     */
+    private static final int MAGIC = 0x59535442;
+
+    /**
+     * Version of the file format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Length of the file header in bytes.
+     */
+    private static final int HEADER_SIZE = 16;
+
+    /**
+     * Upper subtotals that can be reached with every mask of used upper
+     * categories.
+     */
+    private static final boolean[][] REACHABLE = new boolean[1 << ScoreCategory.UPPER_COUNT][UPPER_BONUS_THRESHOLD + 1];
+
+    /**
+     * Scratch arrays of the turn evaluation owned by every thread.
+     */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    static {
+        REACHABLE[0][0] = true;
+        for (int mask = 0; mask < REACHABLE.length; mask++) {
+            for (int face = 1; face <= ScoreCategory.UPPER_COUNT; face++) {
+                int bit = 1 << (face - 1);
+                if ((mask & bit) != 0) {
+                    for (int upper = 0; upper <= UPPER_BONUS_THRESHOLD; upper++) {
+                        if (REACHABLE[mask & ~bit][upper]) {
+                            for (int count = 0; count <= PackedHand.DICE; count++) {
+                                REACHABLE[mask][Math.min(UPPER_BONUS_THRESHOLD, upper + count * face)] = true;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private final FloatBuffer values;
+
+    /**
+     * Constructs a table backed by the given buffer of expected values.
+     *
+     * @param values The expected value of every state.
+     */
+    private GameStrategyTable(FloatBuffer values) {
+        this.values = values;
+    }
+
+    /**
+     * Computes the table on the common fork/join pool.
+     *
+     * @return The computed table.
+     */
+    public static GameStrategyTable compute() {
+        return compute(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the table on the given pool. Every layer of states with the
+     * same number of used categories depends only on the layers with more,
+     * so the states of a layer are evaluated in parallel.
+     *
+     * @param pool The pool executing the computation.
+     * @return The computed table.
+     */
+    public static GameStrategyTable compute(ForkJoinPool pool) {
+        GameStrategyTable table = new GameStrategyTable(FloatBuffer.wrap(new float[STATE_COUNT]));
+        for (int used = CATEGORY_COUNT - 1; used >= 0; used--) {
+            int[] masks = masksWithBitCount(used);
+            pool.invoke(table.new LayerTask(masks, 0, masks.length));
+        }
+        return table;
+    }
+
+    /**
+     * Loads a table saved by {@link #save(Path)} by memory-mapping the file.
+     *
+     * @param file The file holding the table.
+     * @return The loaded table.
+     * @throws IOException If the file cannot be read or is not a saved table.
+     */
+    public static GameStrategyTable load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long expectedSize = HEADER_SIZE + (long) STATE_COUNT * Float.BYTES;
+            if (channel.size() != expectedSize) {
+                throw new IOException("Unexpected size of strategy table file: " + channel.size());
+            }
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, expectedSize)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION || mapped.getInt(8) != STATE_COUNT) {
+                throw new IOException("Not a strategy table file: " + file);
+            }
+            return new GameStrategyTable(mapped.position(HEADER_SIZE).slice().order(ByteOrder.LITTLE_ENDIAN)
+                    .asFloatBuffer());
+        }
+    }
+
+    /**
+     * Loads the table from a file, computing and saving it first if the file
+     * does not exist.
+     *
+     * @param file The file holding the table.
+     * @return The loaded or computed table.
+     * @throws IOException If the file cannot be read or written.
+     */
+    public static GameStrategyTable loadOrCompute(Path file) throws IOException {
+        if (Files.exists(file)) {
+            return load(file);
+        }
+        GameStrategyTable table = compute();
+        table.save(file);
+        return table;
+    }
+
+    /**
+     * Saves the table to a binary file of little-endian floats preceded by a
+     * short header.
+     *
+     * @param file The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + STATE_COUNT * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(STATE_COUNT).putInt(0);
+        for (int state = 0; state < STATE_COUNT; state++) {
+            buffer.putFloat(values.get(state));
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Returns the expected score of a whole game played optimally, including
+     * the upper section bonus.
+     *
+     * @return The expected final score.
+     */
+    public double expectedGameScore() {
+        return values.get(0);
+    }
+
+    /**
+     * Returns the expected number of points still to be scored from a state.
+     *
+     * @param usedMask The mask of used categories, see {@link ScoreCategory#bit()}.
+     * @param upperSubtotal The upper section subtotal so far.
+     * @return The expected number of points, including a future upper bonus.
+     */
+    public double expectedRemainingScore(int usedMask, int upperSubtotal) {
+        return values.get(state(usedMask, upperSubtotal));
+    }
+
+    /**
+     * Chooses the category in which to score a final hand.
+     *
+     * @param usedMask The mask of used categories, which must not be full.
+     * @param upperSubtotal The upper section subtotal so far.
+     * @param hand The final packed hand, with the dice in any order.
+     * @return The category maximising the expected final score.
+     * @throws IllegalArgumentException If the hand is not valid or all
+     * categories are used.
+     */
+    public ScoreCategory bestCategory(int usedMask, int upperSubtotal, int hand) {
+        int index = indexOf(hand);
+        checkNotFull(usedMask);
+        int upper = Math.min(upperSubtotal, UPPER_BONUS_THRESHOLD);
+        int best = -1;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int category = 0; category < CATEGORY_COUNT; category++) {
+            if ((usedMask & (1 << category)) == 0) {
+                double value = scoreValue(usedMask, upper, index, category);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = category;
+                }
+            }
+        }
+        return ScoreCategory.fromIndex(best);
+    }
+
+    /**
+     * Chooses the dice to keep during a turn. Bit {@code i} of the mask is
+     * set when the die at position {@code i} of the given hand should be
+     * kept.
+     *
+     * @param usedMask The mask of used categories, which must not be full.
+     * @param upperSubtotal The upper section subtotal so far.
+     * @param hand The current packed hand, with the dice in any order.
+     * @param rerollsLeft The number of rerolls left in the turn (0-2).
+     * @return The mask of dice to keep.
+     * @throws IllegalArgumentException If the hand is not valid or all
+     * categories are used.
+     */
+    public int bestKeepMask(int usedMask, int upperSubtotal, int hand, int rerollsLeft) {
+        int index = indexOf(hand);
+        checkNotFull(usedMask);
+        if (rerollsLeft == 0) {
+            return KeepTable.MASK_COUNT - 1;
+        }
+        Scratch scratch = SCRATCH.get();
+        evaluateTurn(usedMask, Math.min(upperSubtotal, UPPER_BONUS_THRESHOLD), scratch, rerollsLeft);
+        return KeepTable.toHandMask(hand, scratch.masks[index]);
+    }
+
+    /**
+     * Evaluates the start of a turn from a state.
+     *
+     * @param usedMask The mask of used categories.
+     * @param upper The capped upper section subtotal.
+     * @param scratch The scratch arrays of the calling thread.
+     * @return The expected number of points still to be scored.
+     */
+    private double evaluateState(int usedMask, int upper, Scratch scratch) {
+        evaluateTurn(usedMask, upper, scratch, RerollSolver.MAX_REROLLS);
+        double value = 0.0;
+        double[] handValues = scratch.handValues[RerollSolver.MAX_REROLLS];
+        for (int index = 0; index < PackedHand.HAND_COUNT; index++) {
+            value += handValues[index] * PackedHand.multiplicity(index);
+        }
+        return value / PackedHand.ROLL_COUNT;
+    }
+
+    /**
+     * Computes the value of every hand of a turn, from the final hands back
+     * to the hands with the given number of rerolls left. The best masks of
+     * the last level are left in the scratch arrays.
+     *
+     * @param usedMask The mask of used categories.
+     * @param upper The capped upper section subtotal.
+     * @param scratch The scratch arrays of the calling thread.
+     * @param rerolls The number of rerolls to evaluate.
+     */
+    private void evaluateTurn(int usedMask, int upper, Scratch scratch, int rerolls) {
+        double[] finalValues = scratch.handValues[0];
+        for (int index = 0; index < PackedHand.HAND_COUNT; index++) {
+            double best = Double.NEGATIVE_INFINITY;
+            for (int category = 0; category < CATEGORY_COUNT; category++) {
+                if ((usedMask & (1 << category)) == 0) {
+                    best = Math.max(best, scoreValue(usedMask, upper, index, category));
+                }
+            }
+            finalValues[index] = best;
+        }
+        for (int level = 1; level <= rerolls; level++) {
+            KeepTable.expectKeepValues(scratch.handValues[level - 1], scratch.keepValues);
+            KeepTable.chooseKeeps(scratch.keepValues, scratch.handValues[level],
+                    level == rerolls ? scratch.masks : null);
+        }
+    }
+
+    /**
+     * Returns the points scored by a hand in a category plus the expected
+     * points of the resulting state.
+     *
+     * @param usedMask The mask of used categories.
+     * @param upper The capped upper section subtotal.
+     * @param index The index of the sorted hand.
+     * @param category The index of an unused category.
+     * @return The value of scoring the hand in the category.
+     */
+    private double scoreValue(int usedMask, int upper, int index, int category) {
+        int score = ScoreCategory.fromIndex(category).scoreOfIndex(index);
+        int nextUpper = upper;
+        int bonus = 0;
+        if (category < ScoreCategory.UPPER_COUNT) {
+            nextUpper = Math.min(UPPER_BONUS_THRESHOLD, upper + score);
+            if (upper < UPPER_BONUS_THRESHOLD && nextUpper == UPPER_BONUS_THRESHOLD) {
+                bonus = UPPER_BONUS;
+            }
+        }
+        return score + bonus + values.get(state(usedMask | (1 << category), nextUpper));
+    }
+
+    /**
+     * Returns the index of a state in the table.
+     *
+     * @param usedMask The mask of used categories.
+     * @param upperSubtotal The upper section subtotal, capped at the threshold.
+     * @return The index of the state.
+     */
+    private static int state(int usedMask, int upperSubtotal) {
+        return usedMask * (UPPER_BONUS_THRESHOLD + 1) + Math.min(upperSubtotal, UPPER_BONUS_THRESHOLD);
+    }
+
+    /**
+     * Returns all category masks with the given number of used categories.
+     *
+     * @param bitCount The number of used categories.
+     * @return The masks.
+     */
+    private static int[] masksWithBitCount(int bitCount) {
+        return IntStream.range(0, 1 << CATEGORY_COUNT)
+                .filter(mask -> Integer.bitCount(mask) == bitCount)
+                .toArray();
+    }
+
+    /**
+     * Returns the sorted hand index of a hand, rejecting invalid hands.
+     *
+     * @param hand The packed hand.
+     * @return The index of the sorted hand.
+     * @throws IllegalArgumentException If the hand is not valid.
+     */
+    private static int indexOf(int hand) {
+        int index = PackedHand.index(hand);
+        if (index < 0) {
+            throw new IllegalArgumentException("Not a valid hand: " + hand);
+        }
+        return index;
+    }
+
+    /**
+     * Rejects masks in which every category is used.
+     *
+     * @param usedMask The mask of used categories.
+     * @throws IllegalArgumentException If every category is used.
+     */
+    private static void checkNotFull(int usedMask) {
+        if ((usedMask & ((1 << CATEGORY_COUNT) - 1)) == (1 << CATEGORY_COUNT) - 1) {
+            throw new IllegalArgumentException("All categories are already used.");
+        }
+    }
+
+    /**
+     * Scratch arrays of the turn evaluation.
+     */
+    private static final class Scratch {
+
+        final double[][] handValues = new double[RerollSolver.MAX_REROLLS + 1][PackedHand.HAND_COUNT];
+        final double[] keepValues = new double[KeepTable.KEEP_COUNT];
+        final byte[] masks = new byte[PackedHand.HAND_COUNT];
+    }
+
+    /**
+     * Task evaluating the states of a range of masks with the same number of
+     * used categories.
+     */
+    private final class LayerTask extends RecursiveAction {
+
+        /**
+         * Version of the serialized form, which is never used.
+         */
+        private static final long serialVersionUID = 1L;
+
+        private final int[] masks;
+        private final int from;
+        private final int to;
+
+        /**
+         * Constructs a task for a range of masks.
+         *
+         * @param masks The masks of the layer.
+         * @param from The index of the first mask.
+         * @param to The index after the last mask.
+         */
+        LayerTask(int[] masks, int from, int to) {
+            this.masks = masks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new LayerTask(masks, from, middle), new LayerTask(masks, middle, to));
+                return;
+            }
+
+            int usedMask = masks[from];
+            int upperMask = usedMask & ((1 << ScoreCategory.UPPER_COUNT) - 1);
+            Scratch scratch = SCRATCH.get();
+            if (upperMask == (1 << ScoreCategory.UPPER_COUNT) - 1) {
+                // With the upper section complete the subtotal no longer matters.
+                float value = (float) evaluateState(usedMask, 0, scratch);
+                for (int upper = 0; upper <= UPPER_BONUS_THRESHOLD; upper++) {
+                    values.put(state(usedMask, upper), value);
+                }
+                return;
+            }
+            for (int upper = 0; upper <= UPPER_BONUS_THRESHOLD; upper++) {
+                if (REACHABLE[upperMask][upper]) {
+                    values.put(state(usedMask, upper), (float) evaluateState(usedMask, upper, scratch));
+                }
+            }
+        }
+    }
+}
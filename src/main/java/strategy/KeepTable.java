@@ -0,0 +1,261 @@
+package strategy;
+
+import model.PackedHand;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed tables describing which dice can be kept between rolls. A keep
+ * is a multiset of zero to five dice; there are 462 of them. Keeps are ordered
+ * from the largest to the smallest, so that the expected value of every keep
+ * can be computed in a single pass as the average over the six keeps with one
+ * more die.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+final class KeepTable {
+
+    /**
+     * Number of faces of a die.
+     */
+    static final int FACES = 6;
+
+    /**
+     * Number of distinct keeps.
+     */
+    static final int KEEP_COUNT = 462;
+
+    /**
+     * Number of keep masks of a hand of five dice.
+     */
+    static final int MASK_COUNT = 1 << PackedHand.DICE;
+
+    /**
+     * Number of dice in every keep.
+     */
+    private static final byte[] SIZE = new byte[KEEP_COUNT];
+
+    /**
+     * Index of the sorted hand for every keep of five dice, or -1.
+     */
+    private static final short[] HAND_INDEX = new short[KEEP_COUNT];
+
+    /**
+     * Keep obtained by adding one die of every face to every smaller keep.
+     */
+    private static final short[] CHILD = new short[KEEP_COUNT * FACES];
+
+    /**
+     * Index of the keep of five dice for every sorted hand.
+     */
+    private static final short[] FULL_KEEP_BY_HAND = new short[PackedHand.HAND_COUNT];
+
+    /**
+     * Start of the distinct keeps of every sorted hand in the arrays below.
+     */
+    private static final short[] DISTINCT_START = new short[PackedHand.HAND_COUNT + 1];
+
+    /**
+     * Distinct keeps of every sorted hand, without the keep of all five dice.
+     */
+    private static final short[] DISTINCT_KEEP;
+
+    /**
+     * Lowest mask selecting every distinct keep.
+     */
+    private static final byte[] DISTINCT_MASK;
+
+    static {
+        // A keep is identified by its face counts written in base 6.
+        int keySpace = 1;
+        for (int face = 0; face < FACES; face++) {
+            keySpace *= FACES;
+        }
+        short[] indexByKey = new short[keySpace];
+
+        int index = 0;
+        for (int size = PackedHand.DICE; size >= 0; size--) {
+            for (int key = 0; key < keySpace; key++) {
+                if (sizeOfKey(key) == size) {
+                    indexByKey[key] = (short) index;
+                    SIZE[index] = (byte) size;
+                    HAND_INDEX[index] = (short) (size == PackedHand.DICE ? PackedHand.index(handOfKey(key)) : -1);
+                    if (size == PackedHand.DICE) {
+                        FULL_KEEP_BY_HAND[HAND_INDEX[index]] = (short) index;
+                    }
+                    index++;
+                }
+            }
+        }
+
+        for (int key = 0; key < keySpace; key++) {
+            int size = sizeOfKey(key);
+            if (size < PackedHand.DICE) {
+                int power = 1;
+                for (int face = 0; face < FACES; face++) {
+                    CHILD[indexByKey[key] * FACES + face] = indexByKey[key + power];
+                    power *= FACES;
+                }
+            }
+        }
+
+        // Hands with repeated dice select the same keep with several masks.
+        short[] distinctKeeps = new short[PackedHand.HAND_COUNT * MASK_COUNT];
+        byte[] distinctMasks = new byte[distinctKeeps.length];
+        int count = 0;
+        for (int hand = 0; hand < PackedHand.HAND_COUNT; hand++) {
+            DISTINCT_START[hand] = (short) count;
+            int sorted = PackedHand.fromIndex(hand);
+            for (int mask = 0; mask < MASK_COUNT - 1; mask++) {
+                int key = 0;
+                for (int i = 0; i < PackedHand.DICE; i++) {
+                    if ((mask & (1 << i)) != 0) {
+                        key += power(PackedHand.die(sorted, i) - 1);
+                    }
+                }
+                short keep = indexByKey[key];
+                boolean seen = false;
+                for (int i = DISTINCT_START[hand]; i < count && !seen; i++) {
+                    seen = distinctKeeps[i] == keep;
+                }
+                if (!seen) {
+                    distinctKeeps[count] = keep;
+                    distinctMasks[count] = (byte) mask;
+                    count++;
+                }
+            }
+        }
+        DISTINCT_START[PackedHand.HAND_COUNT] = (short) count;
+        DISTINCT_KEEP = Arrays.copyOf(distinctKeeps, count);
+        DISTINCT_MASK = Arrays.copyOf(distinctMasks, count);
+    }
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private KeepTable() {
+    }
+
+    /**
+     * Computes the expected value of every keep, given the value of every
+     * sorted hand after the dice that are not kept have been rerolled.
+     *
+     * @param handValues The value of every sorted hand.
+     * @param keepValues The array receiving the value of every keep.
+     */
+    static void expectKeepValues(double[] handValues, double[] keepValues) {
+        for (int keep = 0; keep < KEEP_COUNT; keep++) {
+            if (SIZE[keep] == PackedHand.DICE) {
+                keepValues[keep] = handValues[HAND_INDEX[keep]];
+            } else {
+                int base = keep * FACES;
+                keepValues[keep] = (keepValues[CHILD[base]] + keepValues[CHILD[base + 1]]
+                        + keepValues[CHILD[base + 2]] + keepValues[CHILD[base + 3]]
+                        + keepValues[CHILD[base + 4]] + keepValues[CHILD[base + 5]]) / FACES;
+            }
+        }
+    }
+
+    /**
+     * Chooses the best keep of every sorted hand. The keep of all five dice is
+     * preferred on ties.
+     *
+     * @param keepValues The expected value of every keep.
+     * @param handValues The array receiving the best value of every hand.
+     * @param bestMasks The array receiving the best mask over the sorted dice
+     * of every hand, or null if the masks are not needed.
+     */
+    static void chooseKeeps(double[] keepValues, double[] handValues, byte[] bestMasks) {
+        for (int hand = 0; hand < PackedHand.HAND_COUNT; hand++) {
+            int best = MASK_COUNT - 1;
+            double bestValue = keepValues[FULL_KEEP_BY_HAND[hand]];
+            for (int i = DISTINCT_START[hand], end = DISTINCT_START[hand + 1]; i < end; i++) {
+                double value = keepValues[DISTINCT_KEEP[i]];
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = DISTINCT_MASK[i];
+                }
+            }
+            handValues[hand] = bestValue;
+            if (bestMasks != null) {
+                bestMasks[hand] = (byte) best;
+            }
+        }
+    }
+
+    /**
+     * Translates a mask over the sorted dice of a hand into a mask over the
+     * dice of the same hand in another order.
+     *
+     * @param hand The packed hand in the caller's order.
+     * @param sortedMask The mask over the sorted dice of the hand.
+     * @return The mask selecting the same dice in the caller's order.
+     */
+    static int toHandMask(int hand, int sortedMask) {
+        if (sortedMask == 0 || sortedMask == MASK_COUNT - 1) {
+            return sortedMask;
+        }
+        int sorted = PackedHand.sort(hand);
+        int mask = 0;
+        for (int i = 0; i < PackedHand.DICE; i++) {
+            if ((sortedMask & (1 << i)) != 0) {
+                int face = PackedHand.die(sorted, i);
+                for (int j = 0; j < PackedHand.DICE; j++) {
+                    if ((mask & (1 << j)) == 0 && PackedHand.die(hand, j) == face) {
+                        mask |= 1 << j;
+                        break;
+                    }
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the number of dice described by a keep key.
+     *
+     * @param key The keep key.
+     * @return The sum of the face counts.
+     */
+    private static int sizeOfKey(int key) {
+        int size = 0;
+        for (int face = 0; face < FACES; face++) {
+            size += key % FACES;
+            key /= FACES;
+        }
+        return size;
+    }
+
+    /**
+     * Builds the sorted packed hand described by a keep key of five dice.
+     *
+     * @param key The keep key.
+     * @return The packed hand.
+     */
+    private static int handOfKey(int key) {
+        int[] dice = new int[PackedHand.DICE];
+        int position = 0;
+        for (int face = 1; face <= FACES; face++) {
+            for (int count = key % FACES; count > 0; count--) {
+                dice[position++] = face;
+            }
+            key /= FACES;
+        }
+        return PackedHand.of(dice[0], dice[1], dice[2], dice[3], dice[4]);
+    }
+
+    /**
+     * Returns the given power of six.
+     *
+     * @param exponent The exponent.
+     * @return Six raised to the exponent.
+     */
+    private static int power(int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= FACES;
+        }
+        return result;
+    }
+}
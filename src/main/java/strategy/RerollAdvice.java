@@ -0,0 +1,107 @@
+package strategy;
+
+import model.HandCategory;
+import model.PackedHand;
+
+/**
+ * Hints for a hand in the middle of a turn: for every category, the dice to
+ * hold to give the best chance of finishing the turn with that category or
+ * a stronger one, and that chance. The numbers are read from the cached
+ * {@link RerollSolver} of every category, so creating advice takes a few
+ * table lookups once {@link #precompute()} has run.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class RerollAdvice {
+
+    private final int hand;
+    private final int rerollsLeft;
+    private final int[] keepMasks = new int[HandCategory.values().length];
+    private final double[] probabilities = new double[HandCategory.values().length];
+
+    /**
+     * Constructs the advice for a hand.
+     *
+     * @param hand The valid packed hand.
+     * @param rerollsLeft The number of rerolls left in the turn (0-2).
+     */
+    private RerollAdvice(int hand, int rerollsLeft) {
+        this.hand = hand;
+        this.rerollsLeft = rerollsLeft;
+        for (HandCategory category : HandCategory.values()) {
+            RerollSolver solver = RerollSolver.forCategory(category);
+            keepMasks[category.code()] = solver.bestKeepMask(hand, rerollsLeft);
+            probabilities[category.code()] = solver.expectedValue(hand, rerollsLeft);
+        }
+    }
+
+    /**
+     * Computes the cached solvers the advice is read from, if they are not
+     * computed yet. Calling this off the Event Dispatch Thread at startup
+     * keeps the first hint as fast as the following ones.
+     */
+    public static void precompute() {
+        RerollSolver.forCategory(HandCategory.FIVE_OF_A_KIND);
+    }
+
+    /**
+     * Returns the advice for a hand.
+     *
+     * @param hand The packed hand, with the dice in any order.
+     * @param rerollsLeft The number of rerolls left in the turn (0-2).
+     * @return The advice.
+     * @throws IllegalArgumentException If the hand is not valid or the number
+     * of rerolls is out of range.
+     */
+    public static RerollAdvice of(int hand, int rerollsLeft) {
+        if (!PackedHand.isValid(hand)) {
+            throw new IllegalArgumentException("Not a valid hand: " + hand);
+        }
+        if (rerollsLeft < 0 || rerollsLeft > RerollSolver.MAX_REROLLS) {
+            throw new IllegalArgumentException("Rerolls left out of range: " + rerollsLeft);
+        }
+        return new RerollAdvice(hand, rerollsLeft);
+    }
+
+    /**
+     * Returns the hand the advice is for.
+     *
+     * @return The packed hand.
+     */
+    public int getHand() {
+        return hand;
+    }
+
+    /**
+     * Returns the number of rerolls left in the turn.
+     *
+     * @return The number of rerolls.
+     */
+    public int getRerollsLeft() {
+        return rerollsLeft;
+    }
+
+    /**
+     * Returns the dice to hold when aiming at a category. Bit {@code i} of
+     * the mask is set when the die at position {@code i} of the hand should
+     * be held.
+     *
+     * @param target The target category.
+     * @return The mask of dice to hold.
+     */
+    public int getKeepMask(HandCategory target) {
+        return keepMasks[target.code()];
+    }
+
+    /**
+     * Returns the probability of finishing the turn with the target category
+     * or a stronger one, holding the advised dice and playing on optimally.
+     *
+     * @param target The target category.
+     * @return The probability (0-1).
+     */
+    public double getProbability(HandCategory target) {
+        return probabilities[target.code()];
+    }
+}
@@ -0,0 +1,160 @@
+package strategy;
+
+import model.DiceModel;
+import model.HandCategory;
+import model.PackedHand;
+
+/**
+ * Solver choosing which dice to keep during a turn of up to three rolls. For
+ * a given value of every final hand, the solver computes once, in its
+ * constructor, the expected value and the best of the 32 keep masks for each
+ * of the 252 sorted hands and each number of rerolls left. Queries are then
+ * table lookups.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class RerollSolver {
+
+    /**
+     * Number of rerolls allowed after the first roll of a turn.
+     */
+    public static final int MAX_REROLLS = 2;
+
+    /**
+     * Lazily initialised holder of the solvers for every target category.
+     */
+    private static final class CategoryHolder {
+
+        static final RerollSolver[] SOLVERS = new RerollSolver[HandCategory.values().length];
+
+        static {
+            DiceModel model = new DiceModel();
+            for (HandCategory target : HandCategory.values()) {
+                double[] values = new double[PackedHand.HAND_COUNT];
+                for (int index = 0; index < values.length; index++) {
+                    values[index] = model.classifyCode(PackedHand.fromIndex(index)) <= target.code() ? 1.0 : 0.0;
+                }
+                SOLVERS[target.code()] = new RerollSolver(values);
+            }
+        }
+    }
+
+    /**
+     * Expected value of every sorted hand for every number of rerolls left.
+     */
+    private final double[][] expected = new double[MAX_REROLLS + 1][PackedHand.HAND_COUNT];
+
+    /**
+     * Best keep mask over the sorted dice of every hand for every number of
+     * rerolls left.
+     */
+    private final byte[][] bestMask = new byte[MAX_REROLLS + 1][PackedHand.HAND_COUNT];
+
+    /**
+     * Constructs a solver maximising the expected value of the final hand.
+     *
+     * @param handValues The value of every sorted hand, indexed as by
+     * {@link PackedHand#index(int)}. The array is copied.
+     * @throws IllegalArgumentException If the array does not have a value for
+     * every sorted hand.
+     */
+    public RerollSolver(double[] handValues) {
+        if (handValues.length != PackedHand.HAND_COUNT) {
+            throw new IllegalArgumentException("Expected one value per sorted hand.");
+        }
+        System.arraycopy(handValues, 0, expected[0], 0, handValues.length);
+        for (int index = 0; index < PackedHand.HAND_COUNT; index++) {
+            bestMask[0][index] = (byte) (KeepTable.MASK_COUNT - 1);
+        }
+
+        double[] keepValues = new double[KeepTable.KEEP_COUNT];
+        for (int rerolls = 1; rerolls <= MAX_REROLLS; rerolls++) {
+            KeepTable.expectKeepValues(expected[rerolls - 1], keepValues);
+            KeepTable.chooseKeeps(keepValues, expected[rerolls], bestMask[rerolls]);
+        }
+    }
+
+    /**
+     * Returns the cached solver maximising the probability of finishing the
+     * turn with a hand at least as strong as the target category.
+     *
+     * @param target The target category.
+     * @return The solver for the target.
+     */
+    public static RerollSolver forCategory(HandCategory target) {
+        return CategoryHolder.SOLVERS[target.code()];
+    }
+
+    /**
+     * Returns the expected value of a whole turn, before the first roll.
+     *
+     * @return The expected value of the final hand when playing optimally.
+     */
+    public double expectedTurnValue() {
+        double value = 0.0;
+        for (int index = 0; index < PackedHand.HAND_COUNT; index++) {
+            value += expected[MAX_REROLLS][index] * PackedHand.multiplicity(index);
+        }
+        return value / PackedHand.ROLL_COUNT;
+    }
+
+    /**
+     * Returns the expected value of the final hand when playing optimally.
+     *
+     * @param hand The current packed hand, with the dice in any order.
+     * @param rerollsLeft The number of rerolls left in the turn (0-2).
+     * @return The expected value of the final hand.
+     * @throws IllegalArgumentException If the hand is not valid or the number
+     * of rerolls is out of range.
+     */
+    public double expectedValue(int hand, int rerollsLeft) {
+        return expected[checkRerolls(rerollsLeft)][indexOf(hand)];
+    }
+
+    /**
+     * Returns the best set of dice to keep. Bit {@code i} of the mask is set
+     * when the die at position {@code i} of the given hand should be kept;
+     * with no rerolls left all dice are kept.
+     *
+     * @param hand The current packed hand, with the dice in any order.
+     * @param rerollsLeft The number of rerolls left in the turn (0-2).
+     * @return The mask of dice to keep.
+     * @throws IllegalArgumentException If the hand is not valid or the number
+     * of rerolls is out of range.
+     */
+    public int bestKeepMask(int hand, int rerollsLeft) {
+        int index = indexOf(hand);
+        return KeepTable.toHandMask(hand, bestMask[checkRerolls(rerollsLeft)][index]);
+    }
+
+    /**
+     * Checks the number of rerolls left in a turn.
+     *
+     * @param rerollsLeft The number of rerolls left.
+     * @return The number of rerolls left.
+     * @throws IllegalArgumentException If the number is not between 0 and
+     * {@value #MAX_REROLLS}.
+     */
+    private static int checkRerolls(int rerollsLeft) {
+        if (rerollsLeft < 0 || rerollsLeft > MAX_REROLLS) {
+            throw new IllegalArgumentException("Rerolls left out of range: " + rerollsLeft);
+        }
+        return rerollsLeft;
+    }
+
+    /**
+     * Returns the sorted hand index of a hand, rejecting invalid hands.
+     *
+     * @param hand The packed hand.
+     * @return The index of the sorted hand.
+     * @throws IllegalArgumentException If the hand is not valid.
+     */
+    private static int indexOf(int hand) {
+        int index = PackedHand.index(hand);
+        if (index < 0) {
+            throw new IllegalArgumentException("Not a valid hand: " + hand);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * Provides solvers that choose which dice to keep and which category to score
+ * in order to play the dice game optimally.
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+package strategy;
@@ -0,0 +1,96 @@
+package tournament;
+
+import model.DiceModel;
+import model.PackedHand;
+import model.ScoreCategory;
+import model.Scorecard;
+import model.WrongResultsException;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays complete solitaire Yatzee games: thirteen turns of up to three rolls,
+ * every final hand scored in the category chosen by a {@link Strategy}. Hands
+ * are checked and sorted with {@link DiceModel} before the strategy sees
+ * them. A runner keeps no state and can be shared by any number of threads.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class GameRunner {
+
+    /**
+     * Number of rolls in a turn.
+     */
+    public static final int ROLLS_PER_TURN = 3;
+
+    private final DiceModel model;
+
+    /**
+     * Constructs a runner.
+     *
+     * @param model The model validating and sorting the hands.
+     */
+    public GameRunner(DiceModel model) {
+        this.model = model;
+    }
+
+    /**
+     * Returns the model of the runner.
+     *
+     * @return The model.
+     */
+    public DiceModel getModel() {
+        return model;
+    }
+
+    /**
+     * Plays a game. Two calls with generators in the same state roll the same
+     * dice as long as the strategies keep the same dice.
+     *
+     * @param strategy The player.
+     * @param random The generator of the game.
+     * @return The final score, including bonuses.
+     * @throws IllegalStateException If the strategy chooses a used category
+     * or an invalid mask.
+     */
+    public int play(Strategy strategy, SplittableRandom random) {
+        Scorecard scorecard = new Scorecard();
+        for (int turn = 0; turn < ScoreCategory.values().length; turn++) {
+            int hand = roll(0, 0, random);
+            for (int rerollsLeft = ROLLS_PER_TURN - 1; rerollsLeft > 0; rerollsLeft--) {
+                int keepMask = strategy.chooseKeepMask(scorecard, hand, rerollsLeft, random);
+                if (keepMask < 0 || keepMask >= 1 << PackedHand.DICE) {
+                    throw new IllegalStateException(strategy.getName() + " chose an invalid mask: " + keepMask);
+                }
+                if (keepMask == (1 << PackedHand.DICE) - 1) {
+                    break;
+                }
+                hand = roll(hand, keepMask, random);
+            }
+            scorecard.score(strategy.chooseCategory(scorecard, hand, random), hand);
+        }
+        return scorecard.getTotal();
+    }
+
+    /**
+     * Rerolls the dice not selected by a mask.
+     *
+     * @param hand The current packed hand.
+     * @param keepMask The mask of dice to keep.
+     * @param random The generator of the game.
+     * @return The new packed hand, sorted.
+     */
+    private int roll(int hand, int keepMask, SplittableRandom random) {
+        int next = 0;
+        for (int i = 0; i < PackedHand.DICE; i++) {
+            int die = (keepMask & (1 << i)) != 0 ? PackedHand.die(hand, i) : random.nextInt(6) + 1;
+            next |= die << (i * 3);
+        }
+        try {
+            return model.processGameResults(next);
+        } catch (WrongResultsException ex) {
+            throw new IllegalStateException("Rolled an invalid hand: " + next, ex);
+        }
+    }
+}
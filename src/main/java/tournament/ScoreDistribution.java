@@ -0,0 +1,188 @@
+package tournament;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of the final scores of one player, recorded concurrently by
+ * the games of a tournament. Scores are bounded, so every score is counted
+ * in its own slot and quantiles are exact at any point of the stream, in
+ * constant memory. A uniform reservoir sample of the games is kept as well,
+ * with the seed of every sampled game so it can be replayed.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class ScoreDistribution {
+
+    /**
+     * Largest possible score: 375 points on the scorecard, the upper bonus and
+     * twelve Yatzee bonuses.
+     */
+    public static final int MAX_SCORE = 1575;
+
+    /**
+     * Default number of games kept in the sample.
+     */
+    public static final int DEFAULT_SAMPLE_SIZE = 256;
+
+    /**
+     * A sampled game.
+     */
+    public static final class Sample {
+
+        private final long seed;
+        private final int score;
+
+        /**
+         * Constructs a sample.
+         *
+         * @param seed The seed of the game.
+         * @param score The final score.
+         */
+        Sample(long seed, int score) {
+            this.seed = seed;
+            this.score = score;
+        }
+
+        /**
+         * Returns the seed of the generator the game was played with.
+         *
+         * @return The seed.
+         */
+        public long getSeed() {
+            return seed;
+        }
+
+        /**
+         * Returns the final score of the game.
+         *
+         * @return The score.
+         */
+        public int getScore() {
+            return score;
+        }
+    }
+
+    private final AtomicLongArray counts = new AtomicLongArray(MAX_SCORE + 1);
+    private final LongAdder sum = new LongAdder();
+    private final Sample[] reservoir;
+    private final SplittableRandom random;
+    private long seen;
+
+    /**
+     * Constructs a distribution keeping {@value #DEFAULT_SAMPLE_SIZE} games.
+     *
+     * @param seed The seed choosing the sampled games.
+     */
+    public ScoreDistribution(long seed) {
+        this(DEFAULT_SAMPLE_SIZE, seed);
+    }
+
+    /**
+     * Constructs a distribution.
+     *
+     * @param sampleSize The number of games kept in the sample.
+     * @param seed The seed choosing the sampled games.
+     * @throws IllegalArgumentException If the sample size is not positive.
+     */
+    public ScoreDistribution(int sampleSize, long seed) {
+        if (sampleSize <= 0) {
+            throw new IllegalArgumentException("Sample size must be positive.");
+        }
+        this.reservoir = new Sample[sampleSize];
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Records the result of a game.
+     *
+     * @param score The final score (0-{@value #MAX_SCORE}).
+     * @param gameSeed The seed the game was played with.
+     * @throws IllegalArgumentException If the score is out of range.
+     */
+    public void record(int score, long gameSeed) {
+        if (score < 0 || score > MAX_SCORE) {
+            throw new IllegalArgumentException("Score out of range: " + score);
+        }
+        counts.incrementAndGet(score);
+        sum.add(score);
+        synchronized (reservoir) {
+            // Algorithm R: the n-th game replaces a sampled one with probability size/n.
+            long slot = seen < reservoir.length ? seen : random.nextLong(seen + 1);
+            seen++;
+            if (slot < reservoir.length) {
+                reservoir[(int) slot] = new Sample(gameSeed, score);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of recorded games.
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        long count = 0;
+        for (int score = 0; score <= MAX_SCORE; score++) {
+            count += counts.get(score);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the mean score.
+     *
+     * @return The mean, or 0 if no game was recorded.
+     */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) sum.sum() / count;
+    }
+
+    /**
+     * Returns the smallest score that at least the given fraction of the
+     * games did not exceed.
+     *
+     * @param quantile The fraction (0-1).
+     * @return The score, or 0 if no game was recorded.
+     */
+    public int getQuantile(double quantile) {
+        long[] snapshot = new long[MAX_SCORE + 1];
+        long count = 0;
+        for (int score = 0; score <= MAX_SCORE; score++) {
+            snapshot[score] = counts.get(score);
+            count += snapshot[score];
+        }
+        long rank = Math.max(1L, (long) Math.ceil(quantile * count));
+        long seenGames = 0;
+        for (int score = 0; score <= MAX_SCORE; score++) {
+            seenGames += snapshot[score];
+            if (seenGames >= rank) {
+                return score;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the games kept in the sample. With more games recorded than
+     * the sample holds, every game is equally likely to be in it.
+     *
+     * @return A copy of the sample.
+     */
+    public List<Sample> getSample() {
+        List<Sample> sample = new ArrayList<>();
+        synchronized (reservoir) {
+            for (Sample game : reservoir) {
+                if (game != null) {
+                    sample.add(game);
+                }
+            }
+        }
+        return sample;
+    }
+}
@@ -0,0 +1,128 @@
+package tournament;
+
+import model.PackedHand;
+import model.ScoreCategory;
+import model.Scorecard;
+import strategy.GameStrategyTable;
+
+import java.util.SplittableRandom;
+
+/**
+ * Factory of the standard {@link Strategy} implementations: random, greedy
+ * and optimal.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class Strategies {
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private Strategies() {
+    }
+
+    /**
+     * Creates a strategy keeping random dice and scoring in a random unused
+     * category.
+     *
+     * @return The random strategy.
+     */
+    public static Strategy random() {
+        return new Strategy() {
+            @Override
+            public String getName() {
+                return "Random";
+            }
+
+            @Override
+            public int chooseKeepMask(Scorecard scorecard, int hand, int rerollsLeft, SplittableRandom random) {
+                return random.nextInt(1 << PackedHand.DICE);
+            }
+
+            @Override
+            public ScoreCategory chooseCategory(Scorecard scorecard, int hand, SplittableRandom random) {
+                int unused = ~scorecard.getUsedMask() & ((1 << ScoreCategory.values().length) - 1);
+                // Skip a random number of unused categories.
+                for (int skip = random.nextInt(Integer.bitCount(unused)); skip > 0; skip--) {
+                    unused &= unused - 1;
+                }
+                return ScoreCategory.fromIndex(Integer.numberOfTrailingZeros(unused));
+            }
+        };
+    }
+
+    /**
+     * Creates a strategy keeping the dice of its most frequent face, the
+     * highest on a tie, and scoring in the unused category for which the
+     * scorecard would award the most points now, Yatzee bonus included.
+     *
+     * @return The greedy strategy.
+     */
+    public static Strategy greedy() {
+        return new Strategy() {
+            @Override
+            public String getName() {
+                return "Greedy";
+            }
+
+            @Override
+            public int chooseKeepMask(Scorecard scorecard, int hand, int rerollsLeft, SplittableRandom random) {
+                int bestFace = 6;
+                for (int face = 5; face >= 1; face--) {
+                    if (PackedHand.count(hand, face) > PackedHand.count(hand, bestFace)) {
+                        bestFace = face;
+                    }
+                }
+                int mask = 0;
+                for (int i = 0; i < PackedHand.DICE; i++) {
+                    if (PackedHand.die(hand, i) == bestFace) {
+                        mask |= 1 << i;
+                    }
+                }
+                return mask;
+            }
+
+            @Override
+            public ScoreCategory chooseCategory(Scorecard scorecard, int hand, SplittableRandom random) {
+                ScoreCategory best = null;
+                int bestScore = -1;
+                for (ScoreCategory category : ScoreCategory.values()) {
+                    if (!scorecard.isUsed(category)) {
+                        int points = scorecard.pointsFor(category, hand);
+                        if (points > bestScore) {
+                            best = category;
+                            bestScore = points;
+                        }
+                    }
+                }
+                return best;
+            }
+        };
+    }
+
+    /**
+     * Creates a strategy following a precomputed optimal strategy table.
+     *
+     * @param table The table.
+     * @return The optimal strategy.
+     */
+    public static Strategy optimal(GameStrategyTable table) {
+        return new Strategy() {
+            @Override
+            public String getName() {
+                return "Optimal";
+            }
+
+            @Override
+            public int chooseKeepMask(Scorecard scorecard, int hand, int rerollsLeft, SplittableRandom random) {
+                return table.bestKeepMask(scorecard.getUsedMask(), scorecard.getUpperSubtotal(), hand, rerollsLeft);
+            }
+
+            @Override
+            public ScoreCategory chooseCategory(Scorecard scorecard, int hand, SplittableRandom random) {
+                return table.bestCategory(scorecard.getUsedMask(), scorecard.getUpperSubtotal(), hand);
+            }
+        };
+    }
+}
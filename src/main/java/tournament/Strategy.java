@@ -0,0 +1,48 @@
+package tournament;
+
+import model.ScoreCategory;
+import model.Scorecard;
+
+import java.util.SplittableRandom;
+
+/**
+ * Player of a solitaire Yatzee game, deciding which dice to keep between
+ * rolls and where to score the final hand of every turn. Strategies are
+ * shared by the threads of a tournament, so they must not keep state
+ * between calls; randomness comes from the generator passed in, which keeps
+ * games reproducible.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public interface Strategy {
+
+    /**
+     * Returns the name of the strategy shown in results.
+     *
+     * @return The name.
+     */
+    String getName();
+
+    /**
+     * Chooses the dice to keep before a reroll. Bit {@code i} of the mask is
+     * set when the die at position {@code i} is kept.
+     *
+     * @param scorecard The scorecard of the game, which must not be changed.
+     * @param hand The current packed hand.
+     * @param rerollsLeft The number of rerolls left in the turn, at least 1.
+     * @param random The generator of the game.
+     * @return The mask of dice to keep (0-31).
+     */
+    int chooseKeepMask(Scorecard scorecard, int hand, int rerollsLeft, SplittableRandom random);
+
+    /**
+     * Chooses the category in which to score the final hand of a turn.
+     *
+     * @param scorecard The scorecard of the game, which must not be changed.
+     * @param hand The final packed hand.
+     * @param random The generator of the game.
+     * @return An unused category.
+     */
+    ScoreCategory chooseCategory(Scorecard scorecard, int hand, SplittableRandom random);
+}
@@ -0,0 +1,390 @@
+package tournament;
+
+import model.DiceModel;
+import strategy.GameStrategyTable;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Single-elimination tournament between strategies. Players are seeded in
+ * the given order and placed in a standard bracket, the best seeds getting
+ * byes when the number of players is not a power of two. A match is a series
+ * of games in which both players play the same dice seed, and the player
+ * winning more games goes through, on a tie the one with more points and
+ * then the one listed first in the bracket.
+ *
+ * <p>All matches of a round run at once on a fork/join pool; every match is
+ * split recursively into tasks of {@value #GAMES_PER_TASK} games, which idle
+ * workers steal, so uneven strategies and uneven matches keep every core
+ * busy. Generators are split before forking, so the results depend only on
+ * the seed, never on the number of threads; only the games kept in the
+ * score samples may differ.</p>
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class Tournament {
+
+    /**
+     * Number of games played sequentially by a single task.
+     */
+    static final int GAMES_PER_TASK = 16;
+
+    /**
+     * Result of a match; the second player is null for a bye.
+     */
+    public static final class Match {
+
+        private final Strategy first;
+        private final Strategy second;
+        private final long winsFirst;
+        private final long winsSecond;
+        private final long pointsFirst;
+        private final long pointsSecond;
+
+        /**
+         * Constructs the result of a match.
+         *
+         * @param first The player listed first in the bracket.
+         * @param second The other player, or null for a bye.
+         * @param totals The games won and points scored by the first and
+         * second player, in that order.
+         */
+        Match(Strategy first, Strategy second, long[] totals) {
+            this.first = first;
+            this.second = second;
+            this.winsFirst = totals[0];
+            this.winsSecond = totals[1];
+            this.pointsFirst = totals[2];
+            this.pointsSecond = totals[3];
+        }
+
+        /**
+         * Returns the player listed first in the bracket, the better seed in
+         * the first round.
+         *
+         * @return The player.
+         */
+        public Strategy getFirst() {
+            return first;
+        }
+
+        /**
+         * Returns the other player.
+         *
+         * @return The player, or null for a bye.
+         */
+        public Strategy getSecond() {
+            return second;
+        }
+
+        /**
+         * Returns the number of games won by the first player.
+         *
+         * @return The number of games.
+         */
+        public long getWinsFirst() {
+            return winsFirst;
+        }
+
+        /**
+         * Returns the number of games won by the other player.
+         *
+         * @return The number of games.
+         */
+        public long getWinsSecond() {
+            return winsSecond;
+        }
+
+        /**
+         * Returns the player going through to the next round.
+         *
+         * @return The winner.
+         */
+        public Strategy getWinner() {
+            if (second == null) {
+                return first;
+            }
+            if (winsFirst != winsSecond) {
+                return winsFirst > winsSecond ? first : second;
+            }
+            return pointsSecond > pointsFirst ? second : first;
+        }
+
+        /**
+         * Describes the match as for example {@code "Greedy 60 - 38 Random"}.
+         *
+         * @return The description.
+         */
+        @Override
+        public String toString() {
+            return second == null ? first.getName() + " bye"
+                    : first.getName() + " " + winsFirst + " - " + winsSecond + " " + second.getName();
+        }
+    }
+
+    private final GameRunner runner;
+    private final ForkJoinPool pool;
+    private final int gamesPerMatch;
+
+    /**
+     * Constructs a tournament running on the common fork/join pool.
+     *
+     * @param runner The runner playing the games.
+     * @param gamesPerMatch The number of games of every match.
+     */
+    public Tournament(GameRunner runner, int gamesPerMatch) {
+        this(runner, ForkJoinPool.commonPool(), gamesPerMatch);
+    }
+
+    /**
+     * Constructs a tournament running on the given pool.
+     *
+     * @param runner The runner playing the games.
+     * @param pool The pool executing the games.
+     * @param gamesPerMatch The number of games of every match.
+     * @throws IllegalArgumentException If the number of games is not
+     * positive.
+     */
+    public Tournament(GameRunner runner, ForkJoinPool pool, int gamesPerMatch) {
+        if (gamesPerMatch <= 0) {
+            throw new IllegalArgumentException("Number of games must be positive.");
+        }
+        this.runner = runner;
+        this.pool = pool;
+        this.gamesPerMatch = gamesPerMatch;
+    }
+
+    /**
+     * Plays the tournament.
+     *
+     * @param players The players, best seed first; each one at most once.
+     * @param seed The seed of the random number generator.
+     * @return The bracket and the score distribution of every player.
+     * @throws IllegalArgumentException If there are no players or a player
+     * appears twice.
+     */
+    public TournamentResult run(List<Strategy> players, long seed) {
+        if (players.isEmpty()) {
+            throw new IllegalArgumentException("A tournament needs players.");
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        Map<Strategy, ScoreDistribution> distributions = new LinkedHashMap<>();
+        Map<Strategy, Boolean> seen = new IdentityHashMap<>();
+        for (Strategy player : players) {
+            if (seen.put(player, Boolean.TRUE) != null) {
+                throw new IllegalArgumentException(player.getName() + " is entered twice.");
+            }
+            distributions.put(player, new ScoreDistribution(random.nextLong()));
+        }
+
+        long start = System.nanoTime();
+        List<Strategy> bracket = new ArrayList<>();
+        for (int seedNumber : seedOrder(Integer.highestOneBit(players.size() * 2 - 1))) {
+            bracket.add(seedNumber <= players.size() ? players.get(seedNumber - 1) : null);
+        }
+        List<List<Match>> rounds = new ArrayList<>();
+        long games = 0;
+        while (bracket.size() > 1) {
+            List<Match> round = playRound(bracket, distributions, random);
+            bracket = new ArrayList<>();
+            for (Match match : round) {
+                bracket.add(match.getWinner());
+                games += match.getSecond() == null ? 0 : gamesPerMatch;
+            }
+            rounds.add(round);
+        }
+        return new TournamentResult(rounds, bracket.get(0), distributions, games, System.nanoTime() - start);
+    }
+
+    /**
+     * Plays all matches of a round at once.
+     *
+     * @param bracket The players of the round in bracket order, null for a
+     * bye.
+     * @param distributions The score distribution of every player.
+     * @param random The generator of the tournament.
+     * @return The results of the matches.
+     */
+    private List<Match> playRound(List<Strategy> bracket, Map<Strategy, ScoreDistribution> distributions,
+            SplittableRandom random) {
+        MatchTask[] tasks = new MatchTask[bracket.size() / 2];
+        for (int i = 0; i < tasks.length; i++) {
+            Strategy first = bracket.get(2 * i);
+            Strategy second = bracket.get(2 * i + 1);
+            if (first != null && second != null) {
+                tasks[i] = new MatchTask(first, second, distributions.get(first), distributions.get(second),
+                        0, gamesPerMatch, random.split());
+                pool.execute(tasks[i]);
+            }
+        }
+
+        List<Match> round = new ArrayList<>();
+        for (int i = 0; i < tasks.length; i++) {
+            Strategy first = bracket.get(2 * i);
+            Strategy second = bracket.get(2 * i + 1);
+            if (tasks[i] != null) {
+                round.add(new Match(first, second, tasks[i].join()));
+            } else {
+                round.add(new Match(first == null ? second : first, null, new long[4]));
+            }
+        }
+        return round;
+    }
+
+    /**
+     * Returns the seed numbers in bracket order for a bracket of the given
+     * size, such as 1, 8, 4, 5, 2, 7, 3, 6 for eight players, so the best
+     * seeds meet as late as possible.
+     *
+     * @param size The size of the bracket, a power of two.
+     * @return The seed numbers, starting at 1.
+     */
+    static int[] seedOrder(int size) {
+        int[] order = {1};
+        while (order.length < size) {
+            int[] next = new int[order.length * 2];
+            for (int i = 0; i < order.length; i++) {
+                next[2 * i] = order[i];
+                next[2 * i + 1] = next.length + 1 - order[i];
+            }
+            order = next;
+        }
+        return order;
+    }
+
+    /**
+     * Runs a tournament between the optimal, greedy and random strategies
+     * from the command line and prints the bracket and the rankings. The
+     * arguments are {@code --tournament <games per match> [--seed <seed>]
+     * [--table <file>]}; the optimal strategy table is loaded from the file
+     * if given, computed and saved there if it does not exist, or computed
+     * in memory otherwise.
+     *
+     * @param args The command-line arguments.
+     * @param out The stream receiving the results.
+     * @return The exit status: 0 on success, 1 if the table cannot be read or
+     * written, 2 on invalid arguments.
+     */
+    public static int run(String[] args, PrintStream out) {
+        int gamesPerMatch;
+        long seed = System.nanoTime();
+        Path tableFile = null;
+        try {
+            gamesPerMatch = Integer.parseInt(args[1]);
+            for (int i = 2; i < args.length; i++) {
+                if (args[i].equals("--seed")) {
+                    seed = Long.parseLong(args[++i]);
+                } else if (args[i].equals("--table")) {
+                    tableFile = Path.of(args[++i]);
+                } else {
+                    throw new IllegalArgumentException(args[i]);
+                }
+            }
+            if (gamesPerMatch <= 0) {
+                throw new IllegalArgumentException(args[1]);
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException ex) {
+            out.println("Usage: --tournament <games per match> [--seed <seed>] [--table <file>]");
+            return 2;
+        }
+
+        GameStrategyTable table;
+        try {
+            table = tableFile == null ? GameStrategyTable.compute() : GameStrategyTable.loadOrCompute(tableFile);
+        } catch (IOException ex) {
+            out.println("Cannot load strategy table " + tableFile + ": " + ex.getMessage());
+            return 1;
+        }
+        DiceModel model = new DiceModel();
+        List<Strategy> players = Arrays.asList(Strategies.optimal(table), Strategies.greedy(),
+                Strategies.random());
+        out.println(new Tournament(new GameRunner(model), gamesPerMatch).run(players, seed));
+        return 0;
+    }
+
+    /**
+     * Task playing a range of the games of a match.
+     */
+    private final class MatchTask extends RecursiveTask<long[]> {
+
+        /**
+         * Version of the serialized form, which is never used.
+         */
+        private static final long serialVersionUID = 1L;
+
+        private final Strategy first;
+        private final Strategy second;
+        private final ScoreDistribution firstScores;
+        private final ScoreDistribution secondScores;
+        private final int firstGame;
+        private final int endGame;
+        private final SplittableRandom random;
+
+        /**
+         * Constructs a task for a range of games.
+         *
+         * @param first The player listed first in the bracket.
+         * @param second The other player.
+         * @param firstScores The score distribution of the first player.
+         * @param secondScores The score distribution of the second player.
+         * @param firstGame The index of the first game.
+         * @param endGame The index after the last game.
+         * @param random The generator owned by this task.
+         */
+        MatchTask(Strategy first, Strategy second, ScoreDistribution firstScores, ScoreDistribution secondScores,
+                int firstGame, int endGame, SplittableRandom random) {
+            this.first = first;
+            this.second = second;
+            this.firstScores = firstScores;
+            this.secondScores = secondScores;
+            this.firstGame = firstGame;
+            this.endGame = endGame;
+            this.random = random;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (endGame - firstGame > GAMES_PER_TASK) {
+                // Split the generator before forking so the tree is the same for any pool.
+                int middle = (firstGame + endGame) >>> 1;
+                MatchTask left = new MatchTask(first, second, firstScores, secondScores, firstGame, middle,
+                        random.split());
+                MatchTask right = new MatchTask(first, second, firstScores, secondScores, middle, endGame, random);
+                left.fork();
+                long[] totals = right.compute();
+                long[] leftTotals = left.join();
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i] += leftTotals[i];
+                }
+                return totals;
+            }
+
+            long[] totals = new long[4];
+            for (int game = firstGame; game < endGame; game++) {
+                long gameSeed = random.nextLong();
+                int firstScore = runner.play(first, new SplittableRandom(gameSeed));
+                int secondScore = runner.play(second, new SplittableRandom(gameSeed));
+                firstScores.record(firstScore, gameSeed);
+                secondScores.record(secondScore, gameSeed);
+                if (firstScore != secondScore) {
+                    totals[firstScore > secondScore ? 0 : 1]++;
+                }
+                totals[2] += firstScore;
+                totals[3] += secondScore;
+            }
+            return totals;
+        }
+    }
+}
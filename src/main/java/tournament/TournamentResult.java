@@ -0,0 +1,128 @@
+package tournament;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Result of a {@link Tournament}: the matches of every round, the champion
+ * and the score distribution of every player.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class TournamentResult {
+
+    private final List<List<Tournament.Match>> rounds;
+    private final Strategy champion;
+    private final Map<Strategy, ScoreDistribution> distributions;
+    private final long games;
+    private final long elapsedNanos;
+
+    /**
+     * Constructs a result.
+     *
+     * @param rounds The matches of every round, first round first.
+     * @param champion The winner of the final.
+     * @param distributions The score distribution of every player, in seed
+     * order.
+     * @param games The number of games played by pairs of players.
+     * @param elapsedNanos The time the tournament took.
+     */
+    TournamentResult(List<List<Tournament.Match>> rounds, Strategy champion,
+            Map<Strategy, ScoreDistribution> distributions, long games, long elapsedNanos) {
+        this.rounds = rounds;
+        this.champion = champion;
+        this.distributions = distributions;
+        this.games = games;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the matches of every round.
+     *
+     * @return The rounds, first round first.
+     */
+    public List<List<Tournament.Match>> getRounds() {
+        return Collections.unmodifiableList(rounds);
+    }
+
+    /**
+     * Returns the winner of the tournament.
+     *
+     * @return The champion.
+     */
+    public Strategy getChampion() {
+        return champion;
+    }
+
+    /**
+     * Returns the score distribution of a player.
+     *
+     * @param player The player.
+     * @return The distribution, or null if the player was not entered.
+     */
+    public ScoreDistribution getDistribution(Strategy player) {
+        return distributions.get(player);
+    }
+
+    /**
+     * Returns the players ranked by their mean score, best first.
+     *
+     * @return The ranking.
+     */
+    public List<Strategy> getRanking() {
+        List<Strategy> ranking = new ArrayList<>(distributions.keySet());
+        ranking.sort(Comparator.comparingDouble((Strategy player) -> distributions.get(player).getMean()).reversed());
+        return ranking;
+    }
+
+    /**
+     * Returns the number of games played; each game is played by both
+     * players of a match.
+     *
+     * @return The number of games.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the number of games played per second.
+     *
+     * @return The throughput, counting every game once per player.
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : 2.0 * games * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Describes the bracket, the champion, the ranking and the throughput,
+     * one item per line.
+     *
+     * @return The description.
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int round = 0; round < rounds.size(); round++) {
+            text.append("Round ").append(round + 1).append(':').append(System.lineSeparator());
+            for (Tournament.Match match : rounds.get(round)) {
+                text.append(match).append(System.lineSeparator());
+            }
+        }
+        text.append("Champion: ").append(champion.getName());
+        for (Strategy player : getRanking()) {
+            ScoreDistribution scores = distributions.get(player);
+            text.append(System.lineSeparator()).append(String.format(Locale.ROOT,
+                    "%s: %d games, mean %.1f, p10 %d, median %d, p90 %d",
+                    player.getName(), scores.getCount(), scores.getMean(),
+                    scores.getQuantile(0.1), scores.getQuantile(0.5), scores.getQuantile(0.9)));
+        }
+        return text.append(System.lineSeparator())
+                .append(String.format(Locale.ROOT, "Throughput: %.1f games/s", getThroughput())).toString();
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * Provides tournaments between strategies playing complete games of Yatzee.
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+package tournament;
@@ -0,0 +1,365 @@
+package utils;
+
+import model.PackedHand;
+import model.ValidationError;
+
+/**
+ * Single-pass parser turning text into a packed hand of five dice. Works
+ * directly on characters or bytes, without regular expressions, splitting or
+ * boxing, and reports errors through the returned value instead of
+ * exceptions.
+ *
+ * <p>A result that is zero or positive is a packed hand with the dice in input
+ * order. A negative result encodes a {@link ValidationError} and the position
+ * at which it was found, as described there; use {@link #isError(int)}, {@link #errorOf(int)} and
+ * {@link #errorPosition(int)} to read it.</p>
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public final class HandParser {
+
+    /**
+     * Largest value tracked for a token; anything above is out of range
+     * anyway, so accumulating further could only overflow.
+     */
+    private static final int VALUE_CAP = 7;
+
+    /**
+     * State returned by {@link #step(long, int, int)} for a character that
+     * cannot appear in a hand.
+     */
+    private static final long MALFORMED = -1L;
+
+    /**
+     * Lowest bit of the number of values in the parse state, above the packed
+     * values.
+     */
+    private static final int COUNT_SHIFT = 15;
+
+    /**
+     * Lowest bit of the current token value plus one, 0 between tokens, in
+     * the parse state.
+     */
+    private static final int VALUE_SHIFT = 18;
+
+    /**
+     * Lowest bit of the kind of the first error in the parse state.
+     */
+    private static final int KIND_SHIFT = 22;
+
+    /**
+     * Lowest bit of the position of the first error in the parse state.
+     */
+    private static final int POSITION_SHIFT = 32;
+
+    /**
+     * Bits of the current token value in the parse state.
+     */
+    private static final long VALUE_MASK = 0xFL << VALUE_SHIFT;
+
+    /**
+     * Bits of the kind of error in the parse state.
+     */
+    private static final long KIND_MASK = 0x3L << KIND_SHIFT;
+
+    /**
+     * Kind of error of a parse state without errors.
+     */
+    private static final int NO_ERROR = 0;
+
+    /**
+     * Kind of error of a parse state inside a token that may still turn out
+     * of range.
+     */
+    private static final int PENDING = 1;
+
+    /**
+     * Kind of error of a parse state with an out of range value.
+     */
+    private static final int RANGE_ERROR = 2;
+
+    /**
+     * Kind of error of a parse state with a surplus value.
+     */
+    private static final int COUNT_ERROR = 3;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private HandParser() {
+    }
+
+    /**
+     * Parses a whole character sequence.
+     *
+     * @param text The text to parse.
+     * @return The packed hand, or an encoded error.
+     */
+    public static int parse(CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * Parses a range of a character sequence. Values are separated by any
+     * whitespace or control characters.
+     *
+     * @param text The text to parse.
+     * @param from The index of the first character.
+     * @param to The index after the last character.
+     * @return The packed hand, or an encoded error with a position relative to
+     * {@code from}.
+     */
+    public static int parse(CharSequence text, int from, int to) {
+        long state = 0;
+        for (int i = from; i <= to; i++) {
+            state = step(state, i < to ? text.charAt(i) : ' ', i - from);
+            if (state == MALFORMED) {
+                return error(ValidationError.MALFORMED_TOKEN, i - from);
+            }
+        }
+        return finish(state, to - from);
+    }
+
+    /**
+     * Parses a range of ASCII bytes. Values are separated by any whitespace or
+     * control characters.
+     *
+     * @param bytes The bytes to parse.
+     * @param from The index of the first byte.
+     * @param to The index after the last byte.
+     * @return The packed hand, or an encoded error with a position relative to
+     * {@code from}.
+     */
+    public static int parse(byte[] bytes, int from, int to) {
+        long state = 0;
+        for (int i = from; i <= to; i++) {
+            state = step(state, i < to ? bytes[i] & 0xFF : ' ', i - from);
+            if (state == MALFORMED) {
+                return error(ValidationError.MALFORMED_TOKEN, i - from);
+            }
+        }
+        return finish(state, to - from);
+    }
+
+    /**
+     * Parses an array of separate values, such as command-line arguments.
+     * Every element must hold a single number.
+     *
+     * @param args The values.
+     * @return The packed hand, or an encoded error positioned at the index of
+     * the offending element, or at the number of elements if there are too
+     * few.
+     */
+    public static int parse(String[] args) {
+        if (args == null) {
+            return error(ValidationError.NULL, 0);
+        }
+        if (args.length == 0) {
+            return error(ValidationError.WRONG_COUNT, 0);
+        }
+        int hand = 0;
+        int rangeError = -1;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] == null) {
+                return error(ValidationError.NULL, i);
+            }
+            int value = valueOf(args[i]);
+            if (value < 0) {
+                return error(ValidationError.MALFORMED_TOKEN, i);
+            }
+            if (i < PackedHand.DICE) {
+                if ((value < 1 || value > 6) && rangeError < 0) {
+                    rangeError = i;
+                }
+                hand |= value << (i * 3);
+            }
+        }
+        return finish(hand, Math.min(args.length, PackedHand.DICE),
+                rangeError, args.length > PackedHand.DICE ? PackedHand.DICE : -1, args.length);
+    }
+
+    /**
+     * Reads a single value made of decimal digits only.
+     *
+     * @param token The text of the value.
+     * @return The value, capped at {@value #VALUE_CAP}, or -1 if the text is
+     * empty or holds anything but digits.
+     */
+    static int valueOf(String token) {
+        if (token.isEmpty()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = Math.min(VALUE_CAP, value * 10 + (c - '0'));
+        }
+        return value;
+    }
+
+    /**
+     * Checks if a parse result is an error.
+     *
+     * @param result The result of a parse method.
+     * @return True if the result encodes an error, false if it is a hand.
+     */
+    public static boolean isError(int result) {
+        return ValidationError.isError(result);
+    }
+
+    /**
+     * Returns the error encoded in a parse result.
+     *
+     * @param result The result of a parse method, which must be an error.
+     * @return The error.
+     */
+    public static ValidationError errorOf(int result) {
+        return ValidationError.decode(result);
+    }
+
+    /**
+     * Returns the position of the error encoded in a parse result.
+     *
+     * @param result The result of a parse method, which must be an error.
+     * @return The index of the offending character, relative to the start of
+     * the parsed range.
+     */
+    public static int errorPosition(int result) {
+        return ValidationError.decodePosition(result);
+    }
+
+    /**
+     * Encodes an error and its position into a negative result.
+     *
+     * @param error The error.
+     * @param position The position of the error.
+     * @return The encoded error.
+     */
+    static int error(ValidationError error, int position) {
+        return error.encode(position);
+    }
+
+    /**
+     * Advances the parse state by one character. Shared by the character and
+     * byte parsers, whose loops only fetch the characters.
+     *
+     * @param state The parse state before the character.
+     * @param c The character, or a space after the end of the range.
+     * @param position The position of the character in the range.
+     * @return The parse state after the character, or {@link #MALFORMED}.
+     */
+    private static long step(long state, int c, int position) {
+        int value = (int) ((state & VALUE_MASK) >>> VALUE_SHIFT) - 1;
+        if (c >= '0' && c <= '9') {
+            if (value < 0) {
+                state = startToken(state, position);
+                value = 0;
+            }
+            value = Math.min(VALUE_CAP, value * 10 + (c - '0'));
+            return (state & ~VALUE_MASK) | (long) (value + 1) << VALUE_SHIFT;
+        } else if (c <= ' ') {
+            return value < 0 ? state : endToken(state & ~VALUE_MASK, value);
+        }
+        return MALFORMED;
+    }
+
+    /**
+     * Records the start of a token: a surplus value is a count error at once,
+     * any other value may become the first range error.
+     *
+     * @param state The parse state.
+     * @param position The position of the first digit.
+     * @return The updated parse state.
+     */
+    private static long startToken(long state, int position) {
+        int kind = (int) ((state & KIND_MASK) >>> KIND_SHIFT);
+        if (count(state) == PackedHand.DICE) {
+            return kind == COUNT_ERROR ? state : withError(state, COUNT_ERROR, position);
+        }
+        return kind == NO_ERROR ? withError(state, PENDING, position) : state;
+    }
+
+    /**
+     * Records the end of a token, packing its value unless it is surplus.
+     *
+     * @param state The parse state, with the token value cleared.
+     * @param value The value of the token.
+     * @return The updated parse state.
+     */
+    private static long endToken(long state, int value) {
+        int count = count(state);
+        if (count == PackedHand.DICE) {
+            return state;
+        }
+        if ((state & KIND_MASK) == (long) PENDING << KIND_SHIFT) {
+            int kind = value < 1 || value > 6 ? RANGE_ERROR : NO_ERROR;
+            state = (state & ~KIND_MASK) | (long) kind << KIND_SHIFT;
+        }
+        return (state | (long) value << (count * 3)) + (1L << COUNT_SHIFT);
+    }
+
+    /**
+     * Returns the number of values packed in a parse state.
+     *
+     * @param state The parse state.
+     * @return The number of values, at most five.
+     */
+    private static int count(long state) {
+        return (int) (state >>> COUNT_SHIFT) & 0x7;
+    }
+
+    /**
+     * Replaces the error of a parse state.
+     *
+     * @param state The parse state.
+     * @param kind The kind of the error.
+     * @param position The position of the error.
+     * @return The updated parse state.
+     */
+    private static long withError(long state, int kind, int position) {
+        long kept = state & ~KIND_MASK & ((1L << POSITION_SHIFT) - 1);
+        return kept | (long) kind << KIND_SHIFT | (long) position << POSITION_SHIFT;
+    }
+
+    /**
+     * Checks the final state of the character or byte parser.
+     *
+     * @param state The parse state after the whole range.
+     * @param length The length of the parsed range.
+     * @return The packed hand, or an encoded error.
+     */
+    private static int finish(long state, int length) {
+        int kind = (int) ((state & KIND_MASK) >>> KIND_SHIFT);
+        int position = (int) (state >>> POSITION_SHIFT);
+        return finish((int) state & ((1 << COUNT_SHIFT) - 1), count(state),
+                kind == RANGE_ERROR ? position : -1, kind == COUNT_ERROR ? position : -1, length);
+    }
+
+    /**
+     * Checks the tokens collected by a parse method, reporting the errors in
+     * the same order as {@link model.DiceModel#processGameResults}.
+     *
+     * @param hand The packed values.
+     * @param count The number of values, at most five.
+     * @param rangeError The position of the first out of range value, or -1.
+     * @param countError The position of the first surplus value, or -1.
+     * @param length The length of the parsed range.
+     * @return The packed hand, or an encoded error.
+     */
+    private static int finish(int hand, int count, int rangeError, int countError, int length) {
+        if (count == 0) {
+            return error(ValidationError.MALFORMED_TOKEN, 0);
+        } else if (countError >= 0) {
+            return error(ValidationError.WRONG_COUNT, countError);
+        } else if (count < PackedHand.DICE) {
+            return error(ValidationError.WRONG_COUNT, length);
+        } else if (rangeError >= 0) {
+            return error(ValidationError.OUT_OF_RANGE, rangeError);
+        }
+        return hand;
+    }
+}
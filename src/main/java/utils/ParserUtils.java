@@ -1,5 +1,9 @@
 package utils;
 
+import metrics.LatencyHistogram;
+import metrics.Metrics;
+import model.PackedHand;
+import model.ValidationError;
 import model.WrongResultsException;
 import java.util.ArrayList;
 import java.util.List;
@@ -14,6 +18,13 @@ import java.util.List;
  */
 public class ParserUtils {
 
+    /**
+     * Latencies of {@link #parseHand(CharSequence)},
+     * {@link #parseHand(byte[], int, int)} and {@link #parseArguments(String[])},
+     * recorded when metrics are enabled.
+     */
+    private static final LatencyHistogram PARSE_TIMER = Metrics.timer("parser.parseHand");
+
     /**
      * Parses a string array into a list of integers, validating each element.
      *
@@ -24,27 +35,118 @@ public class ParserUtils {
     public List<Integer> parseStringArray(String[] args) throws WrongResultsException {
         List<Integer> integers = new ArrayList<>();
 
-        if (args.length != 0) {
-            for (String arg : args) {
-                try {
-                    integers.add(parseAndValidate(arg));
-                } catch (WrongResultsException e) {
-                    throw e; // Stop processing and propagate the error upward
-                }
-            }
+        if (args == null) {
+            throw rejected(ValidationError.NULL, 0);
+        }
+        for (int i = 0; i < args.length; i++) {
+            // Stop processing at the first invalid element and propagate the error upward.
+            integers.add(parseAndValidate(args[i], i));
         }
 
         return integers;
     }
 
+    /**
+     * Parses a string array into a packed hand, reporting failures through
+     * the result instead of an exception. Errors are reported in the same
+     * order as {@link HandParser}: a missing or malformed element first, then
+     * the number of elements, then the range of the values.
+     *
+     * @param args The string array holding five values.
+     * @return The packed hand with the dice in argument order, or an error
+     * encoded as described in {@link ValidationError}, positioned at the index
+     * of the offending element.
+     */
+    public int parseArguments(String[] args) {
+        if (!Metrics.ENABLED) {
+            return HandParser.parse(args);
+        }
+        long start = System.nanoTime();
+        return measured(HandParser.parse(args), start);
+    }
+
+    /**
+     * Parses a line of text into a packed hand without allocating or
+     * throwing, see {@link HandParser}.
+     *
+     * @param input The text holding five values separated by whitespace.
+     * @return The packed hand, or an encoded error.
+     */
+    public int parseHand(CharSequence input) {
+        if (!Metrics.ENABLED) {
+            return HandParser.parse(input);
+        }
+        long start = System.nanoTime();
+        return measured(HandParser.parse(input), start);
+    }
+
+    /**
+     * Parses a range of ASCII bytes into a packed hand without allocating or
+     * throwing, see {@link HandParser}.
+     *
+     * @param bytes The bytes holding five values separated by whitespace.
+     * @param from The index of the first byte.
+     * @param to The index after the last byte.
+     * @return The packed hand, or an encoded error.
+     */
+    public int parseHand(byte[] bytes, int from, int to) {
+        if (!Metrics.ENABLED) {
+            return HandParser.parse(bytes, from, to);
+        }
+        long start = System.nanoTime();
+        return measured(HandParser.parse(bytes, from, to), start);
+    }
+
+    /**
+     * Records the latency of a parse and the reason of a rejection.
+     *
+     * @param result The packed hand or encoded error.
+     * @param start The time the parse started, from {@link System#nanoTime()}.
+     * @return The result.
+     */
+    private static int measured(int result, long start) {
+        PARSE_TIMER.record(System.nanoTime() - start);
+        if (HandParser.isError(result)) {
+            Metrics.reject(HandParser.errorOf(result).getMessage());
+        }
+        return result;
+    }
+
     /**
      * Parses and validates an individual string argument.
      *
      * @param arg The string argument to be parsed and validated.
+     * @param position The index of the argument.
      * @return The integer value obtained from parsing the input string.
      * @throws WrongResultsException If validation of the argument fails.
      */
-    private int parseAndValidate(String arg) throws WrongResultsException {
-        return Integer.parseInt(arg);
+    private int parseAndValidate(String arg, int position) throws WrongResultsException {
+        if (arg == null) {
+            throw rejected(ValidationError.NULL, position);
+        }
+        if (HandParser.valueOf(arg) < 0) {
+            throw rejected(ValidationError.MALFORMED_TOKEN, position);
+        }
+        try {
+            return Integer.parseInt(arg);
+        } catch (NumberFormatException e) {
+            // Only digits, so the value is too large for an int.
+            throw rejected(ValidationError.OUT_OF_RANGE, position);
+        }
+    }
+
+    /**
+     * Creates the exception for an invalid argument, counting the rejection
+     * when metrics are enabled.
+     *
+     * @param error The reason of the failure.
+     * @param position The index of the offending argument.
+     * @return The exception to throw.
+     */
+    private static WrongResultsException rejected(ValidationError error, int position) {
+        if (Metrics.ENABLED) {
+            Metrics.reject(error.getMessage());
+        }
+        return new WrongResultsException(error, position);
     }
 }
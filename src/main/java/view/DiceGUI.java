@@ -1,12 +1,18 @@
 package view;
 
+import model.HandCategory;
+import model.PackedHand;
+import strategy.RerollAdvice;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.InputEvent;
 import java.awt.event.KeyEvent;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * The graphical user interface class for the Dice Game Simulator.
@@ -16,13 +22,22 @@ import java.util.List;
  */
 public class DiceGUI extends JFrame {
 
+    /**
+     * Number of history entries kept in memory before older ones are moved
+     * to disk.
+     */
+    private static final int HISTORY_CAPACITY = 10_000;
+
     private JLabel headingLabel;
     private JTextField userInputField;
     private JButton calculateButton;
-    private DefaultListModel<String> historyListModel;
+    private JButton statisticsButton;
+    private JButton rollButton;
+    private JButton importButton;
+    private HistoryListModel historyListModel;
     private JList<String> historyList;
     private JTextArea resultText;
-    private int historyCounter = 0;
+    private JTextArea hintText;
 
     /**
      * Constructs a new DiceGUI instance.
@@ -42,19 +57,36 @@ public class DiceGUI extends JFrame {
         headingLabel = new JLabel("Roll five dices and enter results separated by spaces:");
         userInputField = new JTextField(20);
         calculateButton = new JButton("Calculate");
-        historyListModel = new DefaultListModel<>();
-        historyList = new JList(historyListModel);
+        statisticsButton = new JButton("Statistics");
+        rollButton = new JButton("Roll 10,000");
+        importButton = new JButton("Import...");
+        historyListModel = new HistoryListModel(HISTORY_CAPACITY, null);
+        historyList = new JList<>(historyListModel);
+        // A fixed cell size lets the list render only the visible rows.
+        historyList.setPrototypeCellValue("Roll 0000000: No special combination! Dice game results: 6 6 6 6 6 ");
         resultText = new JTextArea();
         resultText.setEditable(false);
+        resultText.setRows(4);
+        hintText = new JTextArea();
+        hintText.setEditable(false);
+        hintText.setRows(8);
+        hintText.setColumns(24);
 
         // Set tooltips for components.
         calculateButton.setToolTipText("Click here to Calculate results of your throws");
+        statisticsButton.setToolTipText("Click here to see how many throws fell into each category");
+        rollButton.setToolTipText("Click here to roll and calculate 10,000 random throws");
+        importButton.setToolTipText("Click here to calculate throws read from a text file, one per line");
         userInputField.setToolTipText("Enter results separated by spaces.");
         historyList.setToolTipText("List of results");
         resultText.setToolTipText("Calculated results of your throws");
+        hintText.setToolTipText("Dice to hold for each combination on the remaining rolls, and the chance to get it");
 
         // Set mnemonic for the "Calculate" button.
         calculateButton.setMnemonic(KeyEvent.VK_C);
+        statisticsButton.setMnemonic(KeyEvent.VK_S);
+        rollButton.setMnemonic(KeyEvent.VK_R);
+        importButton.setMnemonic(KeyEvent.VK_I);
 
         // Set key binding for focusing on the userInputField using Alt + U.
         userInputField.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(
@@ -93,7 +125,22 @@ public class DiceGUI extends JFrame {
         JPanel inputPanel = new JPanel();
         inputPanel.add(userInputField);
         inputPanel.add(calculateButton);
-        panel.add(inputPanel, BorderLayout.CENTER);
+        inputPanel.add(statisticsButton);
+
+        JPanel bulkPanel = new JPanel();
+        bulkPanel.add(rollButton);
+        bulkPanel.add(importButton);
+
+        // The results pane replaces modal dialogs, so bulk actions never block.
+        JPanel centerPanel = new JPanel(new BorderLayout());
+        centerPanel.add(inputPanel, BorderLayout.NORTH);
+        centerPanel.add(bulkPanel, BorderLayout.CENTER);
+        centerPanel.add(new JScrollPane(resultText), BorderLayout.SOUTH);
+        panel.add(centerPanel, BorderLayout.CENTER);
+
+        JScrollPane hintScrollPane = new JScrollPane(hintText);
+        hintScrollPane.setBorder(BorderFactory.createTitledBorder("Hints"));
+        panel.add(hintScrollPane, BorderLayout.EAST);
 
         JScrollPane historyScrollPane = new JScrollPane(historyList);
         historyScrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
@@ -105,12 +152,26 @@ public class DiceGUI extends JFrame {
     }
 
     /**
-     * Adds a calculated result to the history list with a roll counter.
+     * Adds a calculated result to the history list. The text of the row,
+     * including the roll counter, is rendered only when it is displayed.
      *
-     * @param resultItem The result to be added to the history list.
+     * @param hand The packed hand with the dice in the order to display.
+     * @param category The category of the hand.
      */
-    public void addResultToHistoryList(String resultItem) {
-        historyListModel.addElement(addCounterToHistoryElement() + " " + resultItem);
+    public void addResultToHistoryList(int hand, HandCategory category) {
+        historyListModel.add(hand, category);
+    }
+
+    /**
+     * Adds a batch of calculated results to the history list, notifying the
+     * list once for the whole batch.
+     *
+     * @param hands The packed hands with the dice in the order to display.
+     * @param categories The category code of every hand.
+     * @param length The number of results to add.
+     */
+    public void addResultsToHistoryList(int[] hands, byte[] categories, int length) {
+        historyListModel.addAll(hands, categories, length);
     }
 
     /**
@@ -131,6 +192,46 @@ public class DiceGUI extends JFrame {
         calculateButton.addActionListener(listener);
     }
 
+    /**
+     * Sets an ActionListener for the Statistics button.
+     *
+     * @param listener The ActionListener to be set for the Statistics button.
+     */
+    public void setStatisticsButtonListener(ActionListener listener) {
+        statisticsButton.addActionListener(listener);
+    }
+
+    /**
+     * Sets an ActionListener for the Roll button.
+     *
+     * @param listener The ActionListener to be set for the Roll button.
+     */
+    public void setRollButtonListener(ActionListener listener) {
+        rollButton.addActionListener(listener);
+    }
+
+    /**
+     * Sets an ActionListener for the Import button.
+     *
+     * @param listener The ActionListener to be set for the Import button.
+     */
+    public void setImportButtonListener(ActionListener listener) {
+        importButton.addActionListener(listener);
+    }
+
+    /**
+     * Asks the user for a text file of throws to import.
+     *
+     * @return The chosen file, or null if the user cancelled.
+     */
+    public Path chooseImportFile() {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return null;
+        }
+        return chooser.getSelectedFile().toPath();
+    }
+
     /**
      * Displays the results in a formatted string.
      *
@@ -138,7 +239,11 @@ public class DiceGUI extends JFrame {
      * @return A formatted string displaying the dice game results.
      */
     public String displayResults(List<Integer> results) {
-        StringBuilder textResult = new StringBuilder("Dice game results: ");
+        int hand = PackedHand.of(results);
+        if (hand != PackedHand.INVALID) {
+            return RenderCache.results(hand);
+        }
+        StringBuilder textResult = new StringBuilder(RenderCache.RESULTS_PREFIX);
         for (Integer result : results) {
             textResult.append(result).append(" ");
         }
@@ -146,22 +251,76 @@ public class DiceGUI extends JFrame {
     }
 
     /**
-     * Adds a counter to the history element, indicating the roll number.
+     * Formats a classified hand as its category message followed by its
+     * dice. Sorted hands are looked up in a cache instead of being formatted
+     * again.
      *
-     * @return The string containing the roll counter.
+     * @param hand The valid packed hand, with the dice in the order to
+     * display.
+     * @param category The category of the hand.
+     * @return A formatted string displaying the category and the dice.
      */
-    private String addCounterToHistoryElement() {
-        historyCounter++;
-        return "Roll " + historyCounter + ":";
+    public String displayResult(int hand, HandCategory category) {
+        return RenderCache.result(hand, category.code());
     }
 
     /**
-     * Displays an informational message using a JOptionPane.
+     * Displays an informational message in the results pane, without
+     * blocking the user.
      *
      * @param message The message to be displayed.
      */
     public void displayMessage(String message) {
-        JOptionPane.showMessageDialog(this, message, "Results:", JOptionPane.PLAIN_MESSAGE);
+        resultText.setText(message);
+        resultText.setCaretPosition(0);
+    }
+
+    /**
+     * Displays in the hint pane, for every combination, the dice to hold and
+     * the chance of getting the combination or a stronger one on the
+     * remaining rolls.
+     *
+     * @param advice The advice for the last entered hand.
+     */
+    public void displayHints(RerollAdvice advice) {
+        StringBuilder text = new StringBuilder("With ").append(advice.getRerollsLeft()).append(" rerolls left:");
+        for (HandCategory target : HandCategory.values()) {
+            if (target == HandCategory.NO_SPECIAL_COMBINATION) {
+                continue;
+            }
+            text.append(System.lineSeparator()).append(target.getMessage()).append(' ')
+                    .append(String.format(Locale.ROOT, "%.1f%%", 100.0 * advice.getProbability(target)))
+                    .append(", hold").append(heldDice(advice.getHand(), advice.getKeepMask(target)));
+        }
+        hintText.setText(text.toString());
+        hintText.setCaretPosition(0);
+    }
+
+    /**
+     * Clears the hint pane, when the last input was not a single valid hand.
+     */
+    public void clearHints() {
+        hintText.setText("");
+    }
+
+    /**
+     * Lists the held dice of a hand.
+     *
+     * @param hand The packed hand.
+     * @param keepMask The mask of dice to hold.
+     * @return The values of the held dice, each after a space, or " nothing".
+     */
+    private static String heldDice(int hand, int keepMask) {
+        if (keepMask == 0) {
+            return " nothing";
+        }
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < PackedHand.DICE; i++) {
+            if ((keepMask & (1 << i)) != 0) {
+                text.append(' ').append(PackedHand.die(hand, i));
+            }
+        }
+        return text.toString();
     }
 
     /**
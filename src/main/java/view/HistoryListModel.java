@@ -0,0 +1,264 @@
+package view;
+
+import model.HandCategory;
+
+import javax.swing.AbstractListModel;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Bounded list model holding the history of calculated hands. Each entry is
+ * stored as a single int holding the packed hand and its category code, and
+ * the text of a row is rendered only when the list asks for it, which with a
+ * fixed cell size means only for the visible rows, from the strings of
+ * {@link RenderCache}.
+ *
+ * <p>The newest entries are kept in a ring buffer of fixed capacity. Older
+ * entries are appended to a spill file of fixed-width records and paged back
+ * in, one page at a time, when the user scrolls to them. The file is deleted
+ * no later than when the model is closed.</p>
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class HistoryListModel extends AbstractListModel<String> implements AutoCloseable {
+
+    /**
+     * Version of the serialized form, which is never used.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Number of entries read from or written to the spill file at once.
+     */
+    static final int PAGE_SIZE = 1024;
+
+    /**
+     * Position of the category code in an entry.
+     */
+    private static final int CATEGORY_SHIFT = 16;
+
+    private final int[] ring;
+    private final Path directory;
+    private int head;
+    private int ringSize;
+
+    private FileChannel spill;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(PAGE_SIZE * Integer.BYTES);
+    private int spilled;
+    private int flushed;
+
+    private final int[] page = new int[PAGE_SIZE];
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(PAGE_SIZE * Integer.BYTES);
+    private int pageStart;
+    private int pageLength;
+
+    /**
+     * Constructs an empty history.
+     *
+     * @param capacity The number of entries kept in memory.
+     * @param directory The directory of the spill file, or null for the
+     * default temporary directory.
+     */
+    public HistoryListModel(int capacity, Path directory) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.ring = new int[capacity];
+        this.directory = directory;
+    }
+
+    /**
+     * Appends a hand to the history, spilling the oldest entry in memory to
+     * the file if the ring buffer is full.
+     *
+     * @param hand The packed hand, with the dice in the order to display.
+     * @param category The category of the hand.
+     */
+    public void add(int hand, HandCategory category) {
+        append(hand | category.code() << CATEGORY_SHIFT);
+        int index = getSize() - 1;
+        fireIntervalAdded(this, index, index);
+    }
+
+    /**
+     * Appends a batch of hands to the history, notifying the listeners once
+     * for the whole batch.
+     *
+     * @param hands The packed hands, with the dice in the order to display.
+     * @param categories The category code of every hand.
+     * @param length The number of hands to append.
+     */
+    public void addAll(int[] hands, byte[] categories, int length) {
+        if (length == 0) {
+            return;
+        }
+        int first = getSize();
+        for (int i = 0; i < length; i++) {
+            append(hands[i] | categories[i] << CATEGORY_SHIFT);
+        }
+        fireIntervalAdded(this, first, getSize() - 1);
+    }
+
+    /**
+     * Returns the number of entries, in memory and spilled.
+     *
+     * @return The number of entries.
+     */
+    @Override
+    public int getSize() {
+        return spilled + ringSize;
+    }
+
+    /**
+     * Renders a row of the history.
+     *
+     * @param index The index of the row.
+     * @return The text of the row.
+     * @throws UncheckedIOException If the spill file cannot be read.
+     */
+    @Override
+    public String getElementAt(int index) {
+        int entry = entryAt(index);
+        return "Roll " + (index + 1) + ": "
+                + RenderCache.result(entry & ((1 << CATEGORY_SHIFT) - 1), entry >>> CATEGORY_SHIFT);
+    }
+
+    /**
+     * Returns the packed hand of a row.
+     *
+     * @param index The index of the row.
+     * @return The packed hand.
+     * @throws UncheckedIOException If the spill file cannot be read.
+     */
+    public int getHand(int index) {
+        return entryAt(index) & ((1 << CATEGORY_SHIFT) - 1);
+    }
+
+    /**
+     * Returns the number of entries moved to the spill file.
+     *
+     * @return The number of spilled entries.
+     */
+    public int getSpilled() {
+        return spilled;
+    }
+
+    /**
+     * Closes the spill file, which deletes it.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (spill != null) {
+            spill.close();
+        }
+    }
+
+    /**
+     * Stores an entry in the ring buffer, spilling the oldest entry to the
+     * file if the buffer is full.
+     *
+     * @param entry The entry.
+     */
+    private void append(int entry) {
+        if (ringSize == ring.length) {
+            spill(ring[head]);
+            head = (head + 1) % ring.length;
+            ringSize--;
+        }
+        ring[(head + ringSize) % ring.length] = entry;
+        ringSize++;
+    }
+
+    /**
+     * Returns the entry of a row from the ring buffer or the spill file.
+     *
+     * @param index The index of the row.
+     * @return The entry.
+     */
+    private int entryAt(int index) {
+        if (index < 0 || index >= getSize()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        if (index >= spilled) {
+            return ring[(head + index - spilled) % ring.length];
+        }
+        if (index < pageStart || index >= pageStart + pageLength) {
+            loadPage(index - index % PAGE_SIZE);
+        }
+        return page[index - pageStart];
+    }
+
+    /**
+     * Queues an entry for the spill file, writing a full page at a time.
+     *
+     * @param entry The entry.
+     */
+    private void spill(int entry) {
+        writeBuffer.putInt(entry);
+        spilled++;
+        if (!writeBuffer.hasRemaining()) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the queued entries to the end of the spill file, creating it on
+     * first use.
+     */
+    private void flush() {
+        try {
+            if (spill == null) {
+                Path file = directory == null
+                        ? Files.createTempFile("dice-history", ".bin")
+                        : Files.createTempFile(directory, "dice-history", ".bin");
+                spill = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                        StandardOpenOption.DELETE_ON_CLOSE);
+            }
+            writeBuffer.flip();
+            long position = (long) flushed * Integer.BYTES;
+            while (writeBuffer.hasRemaining()) {
+                position += spill.write(writeBuffer, position);
+            }
+            writeBuffer.clear();
+            flushed = spilled;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot write history file", ex);
+        }
+    }
+
+    /**
+     * Reads a page of spilled entries into the page cache.
+     *
+     * @param start The index of the first entry of the page.
+     */
+    private void loadPage(int start) {
+        if (spilled > flushed) {
+            flush();
+        }
+        int length = Math.min(PAGE_SIZE, spilled - start);
+        readBuffer.clear().limit(length * Integer.BYTES);
+        try {
+            long position = (long) start * Integer.BYTES;
+            while (readBuffer.hasRemaining()) {
+                int read = spill.read(readBuffer, position + readBuffer.position());
+                if (read < 0) {
+                    throw new IOException("Truncated history file");
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read history file", ex);
+        }
+        readBuffer.flip();
+        readBuffer.asIntBuffer().get(page, 0, length);
+        pageStart = start;
+        pageLength = length;
+    }
+}
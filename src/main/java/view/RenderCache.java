@@ -0,0 +1,107 @@
+package view;
+
+import model.HandCategory;
+import model.PackedHand;
+
+/**
+ * Display strings of every sorted hand, alone and with every category
+ * message, built once when the class is first used. Showing a sorted hand,
+ * in the results pane or in a history row, is then a table lookup instead
+ * of a new string per roll; hands in any other order are rendered on
+ * demand.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+final class RenderCache {
+
+    /**
+     * Text preceding the dice of a hand.
+     */
+    static final String RESULTS_PREFIX = "Dice game results: ";
+
+    /**
+     * Number of category codes.
+     */
+    private static final int CATEGORY_COUNT = HandCategory.values().length;
+
+    /**
+     * Dice of every sorted hand, by hand index.
+     */
+    private static final String[] RESULTS = new String[PackedHand.HAND_COUNT];
+
+    /**
+     * Category message and dice of every sorted hand, by hand index and
+     * category code.
+     */
+    private static final String[] RESULTS_WITH_MESSAGE = new String[PackedHand.HAND_COUNT * CATEGORY_COUNT];
+
+    static {
+        for (int index = 0; index < PackedHand.HAND_COUNT; index++) {
+            RESULTS[index] = render(PackedHand.fromIndex(index));
+            for (int code = 0; code < CATEGORY_COUNT; code++) {
+                RESULTS_WITH_MESSAGE[index * CATEGORY_COUNT + code] =
+                        HandCategory.fromCode(code).getMessage() + " " + RESULTS[index];
+            }
+        }
+    }
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private RenderCache() {
+    }
+
+    /**
+     * Returns the dice of a hand, as for example
+     * {@code "Dice game results: 1 1 3 3 3 "}.
+     *
+     * @param hand The valid packed hand, with the dice in the order to
+     * display.
+     * @return The text.
+     */
+    static String results(int hand) {
+        int index = sortedIndex(hand);
+        return index < 0 ? render(hand) : RESULTS[index];
+    }
+
+    /**
+     * Returns the category message and dice of a hand, as for example
+     * {@code "Full house! Dice game results: 1 1 3 3 3 "}.
+     *
+     * @param hand The valid packed hand, with the dice in the order to
+     * display.
+     * @param code The category code of the hand.
+     * @return The text.
+     */
+    static String result(int hand, int code) {
+        int index = sortedIndex(hand);
+        return index < 0 ? HandCategory.fromCode(code).getMessage() + " " + render(hand)
+                : RESULTS_WITH_MESSAGE[index * CATEGORY_COUNT + code];
+    }
+
+    /**
+     * Returns the index of a hand if its dice are sorted.
+     *
+     * @param hand The packed hand.
+     * @return The index of the hand, or -1 if it is not sorted.
+     */
+    private static int sortedIndex(int hand) {
+        int index = PackedHand.index(hand);
+        return index >= 0 && PackedHand.fromIndex(index) == hand ? index : -1;
+    }
+
+    /**
+     * Renders the dice of a hand.
+     *
+     * @param hand The packed hand.
+     * @return The text.
+     */
+    private static String render(int hand) {
+        StringBuilder text = new StringBuilder(RESULTS_PREFIX);
+        for (int i = 0; i < PackedHand.DICE; i++) {
+            text.append(PackedHand.die(hand, i)).append(' ');
+        }
+        return text.toString();
+    }
+}
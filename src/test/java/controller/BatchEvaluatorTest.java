@@ -0,0 +1,111 @@
+package controller;
+
+import model.DiceModel;
+import model.HandCategory;
+import model.PackedHand;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import utils.ParserUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Tests for the {@link BatchEvaluator} class, covering text and binary
+ * input files and command-line options.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class BatchEvaluatorTest {
+
+    BatchEvaluator evaluator = new BatchEvaluator(new DiceModel(), new ParserUtils());
+
+    /**
+     * Tests the evaluation of a text file with valid and invalid lines.
+     *
+     * @param directory A temporary directory for the input file.
+     * @throws IOException If the file cannot be written or read.
+     */
+    @Test
+    public void testEvaluateText(@TempDir Path directory) throws IOException {
+        Path input = directory.resolve("hands.txt");
+        Files.writeString(input, "1 1 3 3 3\n\n 6 6 6 6 6 \n1 2 3\n1 2 x 4 5\n1 2 3 4 9\n");
+        StringWriter output = new StringWriter();
+
+        BatchSummary summary = evaluator.evaluateText(input, output);
+
+        Assertions.assertEquals("Full house!\nFive of a kind!\nInvalid: Too many or not enough arguments.\n"
+                + "Invalid: Invalid input.\nInvalid: Argument out of range.\n", output.toString());
+        Assertions.assertEquals(5, summary.getTotal());
+        Assertions.assertEquals(3, summary.getInvalid());
+        Assertions.assertEquals(1, summary.getCount(HandCategory.FULL_HOUSE));
+    }
+
+    /**
+     * Tests the evaluation of a binary file spanning several batches.
+     *
+     * @param directory A temporary directory for the input file.
+     * @throws IOException If the file cannot be written or read.
+     */
+    @Test
+    public void testEvaluateBinary(@TempDir Path directory) throws IOException {
+        Path input = directory.resolve("hands.bin");
+        int hands = BatchEvaluator.BATCH_SIZE * 2 + 5;
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(input))) {
+            for (int i = 0; i < hands; i++) {
+                out.writeShort(i % 2 == 0 ? PackedHand.of(2, 2, 2, 2, 5) : PackedHand.of(1, 2, 3, 4, 6));
+            }
+            out.writeShort(0);
+        }
+
+        BatchSummary summary = evaluator.evaluateBinary(input, null);
+
+        Assertions.assertEquals(hands + 1, summary.getTotal());
+        Assertions.assertEquals(1, summary.getInvalid());
+        Assertions.assertEquals(hands / 2 + 1, summary.getCount(HandCategory.FOUR_OF_A_KIND));
+    }
+
+    /**
+     * Tests that a binary file ending with half a record is rejected.
+     *
+     * @param directory A temporary directory for the input file.
+     * @throws IOException If the file cannot be written.
+     */
+    @Test
+    public void testTruncatedBinary(@TempDir Path directory) throws IOException {
+        Path input = directory.resolve("hands.bin");
+        Files.write(input, new byte[]{0, 0, 1});
+        Assertions.assertThrows(IOException.class, () -> evaluator.evaluateBinary(input, null));
+    }
+
+    /**
+     * Tests that unknown and incomplete options are rejected with the usage
+     * instead of being ignored.
+     *
+     * @param directory A temporary directory for the input file.
+     * @throws IOException If the file cannot be written.
+     */
+    @Test
+    public void testRunRejectsBadOptions(@TempDir Path directory) throws IOException {
+        Path input = directory.resolve("hands.txt");
+        Files.writeString(input, "1 1 3 3 3\n");
+        for (String[] args : new String[][] {{"--batch"}, {"--batch", input.toString(), "--sumary-only"},
+                {"--batch", input.toString(), "--journal"}}) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            Assertions.assertEquals(2, evaluator.run(args, new PrintStream(bytes, true)), String.join(" ", args));
+            Assertions.assertTrue(bytes.toString().startsWith("Usage: --batch"), bytes.toString());
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Assertions.assertEquals(0, evaluator.run(new String[] {"--batch", input.toString(), "--summary-only"},
+                new PrintStream(bytes, true)));
+        Assertions.assertFalse(bytes.toString().startsWith("Full house!"), bytes.toString());
+    }
+}
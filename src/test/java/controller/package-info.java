@@ -0,0 +1,4 @@
+/**
+ * Test classes for the dice game controllers.
+ */
+package controller;
@@ -0,0 +1,424 @@
+package journal;
+
+import model.DiceModel;
+import model.HandCategory;
+import model.PackedHand;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests for the {@link GameJournal} and {@link JournalReader} classes,
+ * covering the record format, reopening, concurrent appends, failed
+ * writes and the replay options.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class GameJournalTest {
+
+    DiceModel model = new DiceModel();
+
+    /**
+     * Tests that records are replayed with every field, also after the
+     * journal is reopened for appending.
+     *
+     * @param directory A temporary directory for the journal.
+     * @throws IOException If the journal cannot be written or read.
+     */
+    @Test
+    public void testAppendAndReplay(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("rolls.journal");
+        int fullHouse = PackedHand.of(3, 1, 3, 1, 3);
+        try (GameJournal journal = new GameJournal(file, false)) {
+            journal.append(1_000L, 7, fullHouse, HandCategory.FULL_HOUSE.code());
+        }
+        try (GameJournal journal = new GameJournal(file, true)) {
+            journal.append(42, PackedHand.of(6, 6, 6, 6, 6), HandCategory.FIVE_OF_A_KIND);
+        }
+        Assertions.assertEquals(16 + 2 * 16, Files.size(file));
+
+        List<String> records = new ArrayList<>();
+        long count = new JournalReader(file).forEach((timestamp, session, hand, categoryCode) ->
+                records.add(session + ":" + hand + ":" + categoryCode + ":" + (timestamp > 0)));
+
+        Assertions.assertEquals(2, count);
+        Assertions.assertEquals(List.of("7:" + fullHouse + ":2:true",
+                "42:" + PackedHand.of(6, 6, 6, 6, 6) + ":0:true"), records);
+        Assertions.assertEquals(0, new JournalReader(file).verify(model));
+    }
+
+    /**
+     * Tests that hands appended by several threads, across many groups, are
+     * all replayed.
+     *
+     * @param directory A temporary directory for the journal.
+     * @throws Exception If the journal cannot be written or read.
+     */
+    @Test
+    public void testConcurrentAppends(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("rolls.journal");
+        int threads = 4;
+        int perThread = 3 * GameJournal.GROUP_SIZE + 17;
+        long[] expected = new long[HandCategory.values().length];
+        for (int i = 0; i < perThread; i++) {
+            expected[model.classifyCode(PackedHand.fromIndex(i % PackedHand.HAND_COUNT))] += threads;
+        }
+
+        try (GameJournal journal = new GameJournal(file, false)) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int session = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        int hand = PackedHand.fromIndex(i % PackedHand.HAND_COUNT);
+                        journal.append(session, hand, model.classify(hand));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+            executor.shutdown();
+        }
+
+        JournalReader reader = new JournalReader(file);
+        Assertions.assertArrayEquals(expected, reader.countByCategory());
+        Assertions.assertEquals(0, reader.verify(model));
+    }
+
+    /**
+     * Tests that files that are not journals are rejected, and that a
+     * partial record is rejected by replay but truncated by appending.
+     *
+     * @param directory A temporary directory for the files.
+     * @throws IOException If the files cannot be written.
+     */
+    @Test
+    public void testRejectsInvalidFiles(@TempDir Path directory) throws IOException {
+        Path other = directory.resolve("other.bin");
+        Files.write(other, new byte[32]);
+        Assertions.assertThrows(IOException.class, () -> new JournalReader(other).countByCategory());
+        Assertions.assertThrows(IOException.class, () -> new GameJournal(other, false));
+
+        Path truncated = directory.resolve("truncated.journal");
+        try (GameJournal journal = new GameJournal(truncated, false)) {
+            journal.append(1, PackedHand.of(1, 2, 3, 4, 5), HandCategory.NO_SPECIAL_COMBINATION);
+        }
+        Files.write(truncated, new byte[3], StandardOpenOption.APPEND);
+        Assertions.assertThrows(IOException.class, () -> new JournalReader(truncated).countByCategory());
+
+        // Reopening for appending drops the partial record.
+        try (GameJournal journal = new GameJournal(truncated, false)) {
+            journal.append(2, PackedHand.of(2, 2, 2, 2, 2), HandCategory.FIVE_OF_A_KIND);
+        }
+        Assertions.assertEquals(16 + 2 * 16, Files.size(truncated));
+        Assertions.assertEquals(0, new JournalReader(truncated).verify(model));
+    }
+
+    /**
+     * Tests that a failed group write leaves nothing behind it in the file
+     * and fails every later append and commit.
+     *
+     * @param directory A temporary directory for the journal.
+     * @throws IOException If the journal cannot be written or read.
+     */
+    @Test
+    public void testFailedWrite(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("rolls.journal");
+        int hand = PackedHand.of(1, 2, 3, 4, 5);
+        FailingChannel channel = new FailingChannel(FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE));
+        GameJournal journal = new GameJournal(file, channel, false);
+        journal.append(1, hand, HandCategory.NO_SPECIAL_COMBINATION);
+        journal.commit();
+
+        journal.append(2, hand, HandCategory.NO_SPECIAL_COMBINATION);
+        channel.failing = true;
+        Assertions.assertThrows(IOException.class, journal::commit);
+        channel.failing = false;
+        Assertions.assertThrows(IOException.class, () -> journal.append(3, hand, HandCategory.NO_SPECIAL_COMBINATION));
+        Assertions.assertThrows(IOException.class, journal::commit);
+        Assertions.assertThrows(IOException.class, journal::close);
+        Assertions.assertFalse(channel.isOpen());
+
+        List<Integer> sessions = new ArrayList<>();
+        new JournalReader(file).forEach((timestamp, session, packed, categoryCode) -> sessions.add(session));
+        Assertions.assertEquals(List.of(1), sessions);
+    }
+
+    /**
+     * Tests that a replay rejects missing, extra and invalid arguments with
+     * the usage.
+     *
+     * @param directory A temporary directory for the journal.
+     * @throws IOException If the journal cannot be written.
+     */
+    @Test
+    public void testReplayOptions(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("rolls.journal");
+        try (GameJournal journal = new GameJournal(file, false)) {
+            journal.append(1, PackedHand.of(2, 2, 2, 2, 2), HandCategory.FIVE_OF_A_KIND);
+        }
+        for (String[] args : new String[][] {{"--replay"}, {"--replay", file.toString(), "--verbose"},
+                {"--replay", "bad\u0000path"}}) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            Assertions.assertEquals(2, JournalReader.run(args, new PrintStream(bytes, true)), String.join(" ", args));
+            Assertions.assertTrue(bytes.toString().startsWith("Usage: --replay"), bytes.toString());
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Assertions.assertEquals(0, JournalReader.run(new String[] {"--replay", file.toString()},
+                new PrintStream(bytes, true)));
+        Assertions.assertTrue(bytes.toString().startsWith("Journal records: 1"), bytes.toString());
+    }
+
+    /**
+     * File channel that delegates to a real channel, and can be told to fail
+     * after writing part of the first buffer given to a positional write.
+     */
+    private static final class FailingChannel extends FileChannel {
+
+        private final FileChannel channel;
+        private boolean failing;
+
+        /**
+         * Constructs a channel delegating to another.
+         *
+         * @param channel The real channel.
+         */
+        FailingChannel(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Writes at a position, or writes a single byte and fails if failing.
+         *
+         * @param src The bytes to write.
+         * @param position The file position.
+         * @return The number of bytes written.
+         * @throws IOException If the channel is failing.
+         */
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            if (failing) {
+                ByteBuffer first = src.duplicate().limit(src.position() + 1);
+                channel.write(first, position);
+                throw new IOException("No space left on device");
+            }
+            return channel.write(src, position);
+        }
+
+        /**
+         * Reads from a position of the real channel.
+         *
+         * @param dst The buffer to fill.
+         * @param position The file position.
+         * @return The number of bytes read, or -1 at the end of the file.
+         * @throws IOException If the real channel fails.
+         */
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return channel.read(dst, position);
+        }
+
+        /**
+         * Returns the size of the real channel.
+         *
+         * @return The size in bytes.
+         * @throws IOException If the real channel fails.
+         */
+        @Override
+        public long size() throws IOException {
+            return channel.size();
+        }
+
+        /**
+         * Truncates the real channel.
+         *
+         * @param size The new size.
+         * @return This channel.
+         * @throws IOException If the real channel fails.
+         */
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            channel.truncate(size);
+            return this;
+        }
+
+        /**
+         * Forces the real channel.
+         *
+         * @param metaData True to force the metadata too.
+         * @throws IOException If the real channel fails.
+         */
+        @Override
+        public void force(boolean metaData) throws IOException {
+            channel.force(metaData);
+        }
+
+        /**
+         * Closes the real channel.
+         *
+         * @throws IOException If the real channel cannot be closed.
+         */
+        @Override
+        protected void implCloseChannel() throws IOException {
+            channel.close();
+        }
+
+        /**
+         * Not used by the journal.
+         *
+         * @param dst Unused.
+         * @return Never returns.
+         */
+        @Override
+        public int read(ByteBuffer dst) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Not used by the journal.
+         *
+         * @param dsts Unused.
+         * @param offset Unused.
+         * @param length Unused.
+         * @return Never returns.
+         */
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Not used by the journal.
+         *
+         * @param src Unused.
+         * @return Never returns.
+         */
+        @Override
+        public int write(ByteBuffer src) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Not used by the journal.
+         *
+         * @param srcs Unused.
+         * @param offset Unused.
+         * @param length Unused.
+         * @return Never returns.
+         */
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Not used by the journal.
+         *
+         * @return Never returns.
+         */
+        @Override
+        public long position() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Not used by the journal.
+         *
+         * @param newPosition Unused.
+         * @return Never returns.
+         */
+        @Override
+        public FileChannel position(long newPosition) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Not used by the journal.
+         *
+         * @param position Unused.
+         * @param count Unused.
+         * @param target Unused.
+         * @return Never returns.
+         */
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Not used by the journal.
+         *
+         * @param src Unused.
+         * @param position Unused.
+         * @param count Unused.
+         * @return Never returns.
+         */
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Not used by the journal.
+         *
+         * @param mode Unused.
+         * @param position Unused.
+         * @param size Unused.
+         * @return Never returns.
+         */
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Not used by the journal.
+         *
+         * @param position Unused.
+         * @param size Unused.
+         * @param shared Unused.
+         * @return Never returns.
+         */
+        @Override
+        public FileLock lock(long position, long size, boolean shared) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Not used by the journal.
+         *
+         * @param position Unused.
+         * @param size Unused.
+         * @param shared Unused.
+         * @return Never returns.
+         */
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
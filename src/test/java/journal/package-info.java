@@ -0,0 +1,4 @@
+/**
+ * Test classes for the game journal.
+ */
+package journal;
@@ -0,0 +1,69 @@
+package metrics;
+
+import model.DiceModel;
+import model.PackedHand;
+import model.ValidationError;
+import model.WrongResultsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.ParserUtils;
+
+import java.util.List;
+
+/**
+ * Tests for the {@link Metrics} class with metrics enabled, covering the
+ * rejections counted by the validation paths. Run in a separate fork with
+ * {@code -Ddice.metrics=true}.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class MetricsEnabledTest {
+
+    /**
+     * Skips the tests unless metrics are enabled, and clears the registry.
+     */
+    @BeforeEach
+    public void setUp() {
+        Assumptions.assumeTrue(Metrics.ENABLED, "Run with -Ddice.metrics=true");
+        Metrics.reset();
+    }
+
+    /**
+     * Clears the registry shared by the tests.
+     */
+    @AfterEach
+    public void tearDown() {
+        Metrics.reset();
+    }
+
+    /**
+     * Tests that every failure of the exception-based parser and model is
+     * counted once under the message of its error.
+     */
+    @Test
+    public void testRejectionsCounted() {
+        ParserUtils parserUtils = new ParserUtils();
+        Assertions.assertThrows(WrongResultsException.class, () -> parserUtils.parseStringArray(null));
+        Assertions.assertThrows(WrongResultsException.class,
+                () -> parserUtils.parseStringArray(new String[] {"1", null}));
+        Assertions.assertThrows(WrongResultsException.class,
+                () -> parserUtils.parseStringArray(new String[] {"1", "x"}));
+        Assertions.assertThrows(WrongResultsException.class,
+                () -> parserUtils.parseStringArray(new String[] {"99999999999"}));
+        Assertions.assertThrows(WrongResultsException.class,
+                () -> new DiceModel().processGameResults(List.of(1, 2, 3, 4, 9)));
+        parserUtils.parseHand("1 2 3");
+        new DiceModel().validate(PackedHand.of(1, 2, 3, 4, 5));
+
+        Assertions.assertEquals(Long.valueOf(2), Metrics.rejections().get(ValidationError.NULL.getMessage()));
+        Assertions.assertEquals(Long.valueOf(1),
+                Metrics.rejections().get(ValidationError.MALFORMED_TOKEN.getMessage()));
+        Assertions.assertEquals(Long.valueOf(2), Metrics.rejections().get(ValidationError.OUT_OF_RANGE.getMessage()));
+        Assertions.assertEquals(Long.valueOf(1), Metrics.rejections().get(ValidationError.WRONG_COUNT.getMessage()));
+        Assertions.assertEquals(4, Metrics.rejections().size());
+    }
+}
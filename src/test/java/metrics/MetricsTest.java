@@ -0,0 +1,134 @@
+package metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests for the {@link LatencyHistogram}, {@link Metrics} and
+ * {@link MetricsExporter} classes, covering bucketing, percentiles under
+ * concurrent recording and the text, JSON and JMX exports.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class MetricsTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Clears the registry shared by the tests.
+     */
+    @AfterEach
+    public void tearDown() {
+        Metrics.reset();
+    }
+
+    /**
+     * Tests that every value falls into a bucket whose bounds hold it, with
+     * the promised relative error.
+     */
+    @Test
+    public void testBuckets() {
+        long[] values = {0, 1, 15, 16, 17, 31, 32, 1000, 123_456_789, Long.MAX_VALUE};
+        for (long value : values) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            Assertions.assertTrue(bucket >= 0 && bucket < LatencyHistogram.BUCKETS, "Value " + value);
+            Assertions.assertTrue(LatencyHistogram.lowestValueOf(bucket) <= value, "Value " + value);
+            Assertions.assertTrue(LatencyHistogram.highestValueOf(bucket) >= value, "Value " + value);
+            long width = LatencyHistogram.highestValueOf(bucket) - LatencyHistogram.lowestValueOf(bucket);
+            Assertions.assertTrue(width <= value / LatencyHistogram.SUB_BUCKETS, "Value " + value);
+        }
+    }
+
+    /**
+     * Tests the percentiles of latencies recorded by many threads at once.
+     *
+     * @throws Exception If a worker fails.
+     */
+    @Test
+    public void testConcurrentPercentiles() throws Exception {
+        LatencyHistogram histogram = Metrics.timer("test.operation");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int value = 1; value <= 1000; value++) {
+                        histogram.record(value);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertEquals(4000, histogram.getCount());
+        Assertions.assertEquals(1000, histogram.getMax());
+        Assertions.assertEquals(500.5, histogram.getMean(), 1e-9);
+        long median = histogram.getValueAtPercentile(50);
+        Assertions.assertTrue(median >= 500 && median <= 500 + 500 / LatencyHistogram.SUB_BUCKETS, "Median " + median);
+        Assertions.assertEquals(1000, histogram.getValueAtPercentile(100));
+        Assertions.assertSame(histogram, Metrics.timer("test.operation"));
+    }
+
+    /**
+     * Tests the text and JSON exports.
+     *
+     * @throws Exception If a file cannot be written.
+     */
+    @Test
+    public void testExport() throws Exception {
+        Metrics.timer("model.validate").record(100);
+        Metrics.counter("gui.hands").add(3);
+        Metrics.reject("Argument out of range.");
+        Metrics.reject("Argument out of range.");
+        Metrics.reject("Say \"hi\"");
+
+        String text = MetricsExporter.toText();
+        Assertions.assertTrue(text.contains("model.validate count=1 mean=100.0 p50=100"), text);
+        Assertions.assertTrue(text.contains("gui.hands 3"), text);
+        Assertions.assertTrue(text.contains("Argument out of range. 2"), text);
+
+        String json = MetricsExporter.toJson();
+        Assertions.assertEquals("{\"latencies\":{\"model.validate\":{\"count\":1,\"mean\":100.0,"
+                + "\"p50\":100,\"p90\":100,\"p99\":100,\"p99.9\":100,\"max\":100}},"
+                + "\"counters\":{\"gui.hands\":3},"
+                + "\"rejections\":{\"Argument out of range.\":2,\"Say \\\"hi\\\"\":1}}", json);
+
+        Path file = directory.resolve("metrics.json");
+        MetricsExporter.write(file);
+        Assertions.assertEquals(json, Files.readString(file).trim());
+    }
+
+    /**
+     * Tests that the MXBean publishes the registry.
+     *
+     * @throws Exception If the attributes cannot be read.
+     */
+    @Test
+    public void testMBean() throws Exception {
+        Metrics.reject("Invalid input.");
+        MetricsExporter.registerMBean();
+        MetricsExporter.registerMBean();
+
+        ObjectName name = new ObjectName(MetricsExporter.OBJECT_NAME);
+        String json = (String) ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Json");
+        Assertions.assertTrue(json.contains("\"Invalid input.\":1"), json);
+    }
+}
@@ -1,18 +1,26 @@
 package model;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
+import rules.CombinationRule;
+import rules.GameRules;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
 /**
- * Tests for the {@link DiceModel} class, covering input processing and result
- * messages.
+ * Tests for the {@link DiceModel} class, covering input processing, validation
+ * errors, result messages and variant rules.
  *
  * @author Grzegorz Dziedzic
  * @version 1.3
@@ -107,6 +115,74 @@ public class DiceModelTest {
         Assertions.assertThrows(WrongResultsException.class, () -> diceModel.processGameResults(inputValues));
     }
 
+    /**
+     * Tests the error and position reported by the validate method without
+     * throwing, and that the exception-based wrapper carries the same ones.
+     */
+    @Test
+    public void testValidateErrors() {
+        assertValidationError(ValidationError.NULL, 0, null);
+        assertValidationError(ValidationError.WRONG_COUNT, 4, Arrays.asList(1, 2, 3, 4));
+        assertValidationError(ValidationError.WRONG_COUNT, 5, Arrays.asList(1, 2, 3, 4, 5, 6));
+        assertValidationError(ValidationError.NULL, 2, Arrays.asList(1, 2, null, 4, 5));
+        assertValidationError(ValidationError.OUT_OF_RANGE, 3, Arrays.asList(1, 2, 3, 7, 5));
+
+        Assertions.assertEquals(PackedHand.of(1, 2, 3, 4, 5), diceModel.validate(Arrays.asList(5, 4, 3, 2, 1)));
+        int result = diceModel.validate(PackedHand.of(1, 2, 3, 4, 5) & ~(0b111 << 6));
+        Assertions.assertEquals(ValidationError.OUT_OF_RANGE, ValidationError.decode(result));
+        Assertions.assertEquals(2, ValidationError.decodePosition(result));
+    }
+
+    /**
+     * Tests a model of a six-dice variant with eight-sided dice: validation
+     * and messages follow the rules, and the standard-only API is refused.
+     *
+     * @throws WrongResultsException If a valid hand is rejected.
+     */
+    @Test
+    public void testVariantRules() throws WrongResultsException {
+        DiceModel variant = new DiceModel(new GameRules(6, 8, List.of(
+                CombinationRule.ofAKind(6, "Six of a kind!"),
+                CombinationRule.ofAKind(2, "Pair!")), "Nothing."));
+
+        Assertions.assertEquals(Arrays.asList(1, 2, 3, 5, 8, 8), variant.processGameResults(Arrays.asList(8, 5, 8, 1, 3, 2)));
+        Assertions.assertEquals("Pair!", variant.evaluateGameResultMessage(Arrays.asList(8, 5, 8, 1, 3, 2)));
+        Assertions.assertEquals("Six of a kind!", variant.evaluateGameResultMessage(Arrays.asList(7, 7, 7, 7, 7, 7)));
+        Assertions.assertEquals("Nothing.", variant.evaluateGameResultMessage(Arrays.asList(1, 2, 3, 4, 5, 6)));
+
+        int result = variant.validate(Arrays.asList(1, 2, 3, 4, 5));
+        Assertions.assertEquals(ValidationError.WRONG_COUNT, ValidationError.decode(result));
+        Assertions.assertEquals(5, ValidationError.decodePosition(result));
+        result = variant.validate(Arrays.asList(1, 2, 9, 4, 5, 6));
+        Assertions.assertEquals(ValidationError.OUT_OF_RANGE, ValidationError.decode(result));
+        Assertions.assertEquals(2, ValidationError.decodePosition(result));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> variant.evaluateGameResultMessage(Arrays.asList(1, 2, 3, 4, 5)));
+        Assertions.assertThrows(IllegalStateException.class, () -> variant.classify(0));
+        Assertions.assertSame(GameRules.standard(), diceModel.getRules());
+    }
+
+    /**
+     * Checks the result of the validate method and the exception of the
+     * processGameResults method for invalid input.
+     *
+     * @param expectedError The expected error.
+     * @param expectedPosition The expected position of the error.
+     * @param inputValues The input values to be tested.
+     */
+    private void assertValidationError(ValidationError expectedError, int expectedPosition, List<Integer> inputValues) {
+        int result = diceModel.validate(inputValues);
+        Assertions.assertTrue(ValidationError.isError(result));
+        Assertions.assertEquals(expectedError, ValidationError.decode(result));
+        Assertions.assertEquals(expectedPosition, ValidationError.decodePosition(result));
+
+        WrongResultsException exception = Assertions.assertThrows(WrongResultsException.class,
+                () -> diceModel.processGameResults(inputValues));
+        Assertions.assertEquals(expectedError, exception.getError());
+        Assertions.assertEquals(expectedPosition, exception.getPosition());
+        Assertions.assertEquals(expectedError.getMessage(), exception.getMessage());
+    }
+
     /**
      * Tests the processGameResults method with invalid input ranges.
      *
@@ -144,4 +220,108 @@ public class DiceModelTest {
         String actualMessage = diceModel.evaluateGameResultMessage(inputValues);
         Assertions.assertEquals(expectedMessage, actualMessage);
     }
+
+    /**
+     * Tests that the classify method returns the same category regardless of
+     * the order of the dice.
+     *
+     * @param value1 The value of the first dice.
+     * @param value2 The value of the second dice.
+     * @param value3 The value of the third dice.
+     * @param value4 The value of the fourth dice.
+     * @param value5 The value of the fifth dice.
+     * @param expectedCategory The expected category for the given input values.
+     */
+    @ParameterizedTest
+    @CsvSource({
+        "5, 3, 1, 4, 2, NO_SPECIAL_COMBINATION",
+        "2, 1, 1, 2, 1, FULL_HOUSE",
+        "6, 1, 6, 6, 6, FOUR_OF_A_KIND",
+        "4, 1, 3, 1, 4, TWO_PAIRS",
+        "2, 5, 2, 6, 2, THREE_OF_A_KIND"
+    })
+    public void testClassifyUnsorted(int value1, int value2, int value3, int value4, int value5, HandCategory expectedCategory) {
+        List<Integer> inputValues = Arrays.asList(value1, value2, value3, value4, value5);
+        Assertions.assertEquals(expectedCategory, diceModel.classify(inputValues));
+    }
+
+    /**
+     * Tests that the classify method rejects values outside the dice range.
+     *
+     * @param inputValues The input values to be tested.
+     */
+    @ParameterizedTest
+    @MethodSource({"invalidSizeInputValues", "invalidRangeInputValues"})
+    public void testClassifyInvalid(List<Integer> inputValues) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> diceModel.classify(inputValues));
+    }
+
+    /**
+     * Tests the classifyAll method on a range of a reused buffer containing
+     * an invalid hand.
+     */
+    @Test
+    public void testClassifyAllRange() {
+        int[] hands = {
+            PackedHand.of(1, 1, 1, 1, 1),
+            PackedHand.of(2, 3, 2, 3, 2),
+            PackedHand.INVALID,
+            PackedHand.of(6, 5, 4, 3, 1),
+            PackedHand.of(1, 1, 1, 1, 1)
+        };
+        byte[] categories = new byte[5];
+
+        int invalid = diceModel.classifyAll(hands, 1, categories, 2, 3);
+
+        Assertions.assertEquals(1, invalid);
+        Assertions.assertArrayEquals(new byte[]{0, 0, HandCategory.FULL_HOUSE.code(), -1,
+            HandCategory.NO_SPECIAL_COMBINATION.code()}, categories);
+        Assertions.assertThrows(IndexOutOfBoundsException.class,
+                () -> diceModel.classifyAll(hands, 3, categories, 0, 3));
+    }
+
+    /**
+     * Tests that a single instance shared by several threads, each with its
+     * own buffers, gives the same results as a single thread. All threads
+     * start together to maximise the overlap.
+     *
+     * @throws Exception If a worker fails.
+     */
+    @Test
+    public void testSharedInstanceAcrossThreads() throws Exception {
+        int threads = 8;
+        int[] hands = new int[1 << 15];
+        for (int key = 0; key < hands.length; key++) {
+            hands[key] = key;
+        }
+        byte[] expected = new byte[hands.length];
+        diceModel.classifyAll(hands, expected);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<byte[]>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                byte[] categories = new byte[hands.length];
+                int[] scores = new int[ScoreCategory.values().length];
+                start.await();
+                for (int round = 0; round < 20; round++) {
+                    diceModel.classifyAll(hands, categories);
+                    for (int key = 0; key < hands.length; key++) {
+                        if (categories[key] >= 0) {
+                            diceModel.scoreAll(hands[key], scores);
+                            Assertions.assertEquals(ScoreCategory.CHANCE.score(hands[key]),
+                                    scores[ScoreCategory.CHANCE.ordinal()]);
+                        }
+                    }
+                }
+                return categories;
+            }));
+        }
+        start.countDown();
+        for (Future<byte[]> result : results) {
+            Assertions.assertArrayEquals(expected, result.get());
+        }
+        executor.shutdown();
+    }
 }
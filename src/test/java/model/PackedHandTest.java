@@ -0,0 +1,82 @@
+package model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+
+/**
+ * Tests for the {@link PackedHand} class, covering packing, validation and
+ * sorting of primitive hands.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class PackedHandTest {
+
+    /**
+     * Tests that packed dice can be read back in the same order.
+     */
+    @Test
+    public void testPackAndUnpack() {
+        int hand = PackedHand.of(6, 2, 5, 1, 3);
+        Assertions.assertEquals(Arrays.asList(6, 2, 5, 1, 3), PackedHand.toList(hand));
+        Assertions.assertEquals(5, PackedHand.die(hand, 2));
+        Assertions.assertEquals(hand, PackedHand.of(Arrays.asList(6, 2, 5, 1, 3)));
+    }
+
+    /**
+     * Tests that values outside the dice range produce an invalid hand.
+     *
+     * @param value1 The value of the first dice.
+     * @param value2 The value of the second dice.
+     * @param value3 The value of the third dice.
+     * @param value4 The value of the fourth dice.
+     * @param value5 The value of the fifth dice.
+     */
+    @ParameterizedTest
+    @CsvSource({
+        "0, 1, 2, 3, 4",
+        "1, 2, 3, 4, 7",
+        "9, 1, 1, 1, 1",
+        "-1, 1, 1, 1, 1"
+    })
+    public void testPackOutOfRange(int value1, int value2, int value3, int value4, int value5) {
+        Assertions.assertEquals(PackedHand.INVALID, PackedHand.of(value1, value2, value3, value4, value5));
+        Assertions.assertFalse(PackedHand.isValid(PackedHand.INVALID));
+    }
+
+    /**
+     * Tests that every one of the 7776 ordered rolls sorts into ascending
+     * order and shares its index with the sorted hand.
+     */
+    @Test
+    public void testSortAllRolls() {
+        int[] dice = new int[PackedHand.DICE];
+        for (int roll = 0; roll < 7776; roll++) {
+            int rest = roll;
+            for (int i = 0; i < dice.length; i++) {
+                dice[i] = rest % 6 + 1;
+                rest /= 6;
+            }
+            int hand = PackedHand.of(dice[0], dice[1], dice[2], dice[3], dice[4]);
+            int sorted = PackedHand.sort(hand);
+
+            Arrays.sort(dice);
+            Assertions.assertEquals(PackedHand.of(dice[0], dice[1], dice[2], dice[3], dice[4]), sorted);
+            Assertions.assertEquals(PackedHand.index(sorted), PackedHand.index(hand));
+        }
+    }
+
+    /**
+     * Tests counting the dice showing a face.
+     */
+    @Test
+    public void testCount() {
+        int hand = PackedHand.of(4, 1, 4, 4, 2);
+        Assertions.assertEquals(3, PackedHand.count(hand, 4));
+        Assertions.assertEquals(0, PackedHand.count(hand, 6));
+    }
+}
@@ -0,0 +1,97 @@
+package model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Tests for the {@link ScoreCategory} scores and the {@link Scorecard}
+ * class, covering every category and both bonuses.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class ScorecardTest {
+
+    /**
+     * Tests the score of hands in every category.
+     *
+     * @param value1 The value of the first dice.
+     * @param value2 The value of the second dice.
+     * @param value3 The value of the third dice.
+     * @param value4 The value of the fourth dice.
+     * @param value5 The value of the fifth dice.
+     * @param category The category to be tested.
+     * @param expectedScore The expected score.
+     */
+    @ParameterizedTest
+    @CsvSource({
+        "3, 1, 3, 6, 3, THREES, 9",
+        "3, 1, 3, 6, 3, SIXES, 6",
+        "3, 1, 3, 6, 3, THREE_OF_A_KIND, 16",
+        "3, 1, 3, 6, 3, FOUR_OF_A_KIND, 0",
+        "5, 5, 2, 5, 5, FOUR_OF_A_KIND, 22",
+        "2, 5, 2, 5, 2, FULL_HOUSE, 25",
+        "2, 2, 2, 2, 2, FULL_HOUSE, 0",
+        "4, 3, 6, 1, 5, SMALL_STRAIGHT, 30",
+        "4, 3, 6, 4, 5, SMALL_STRAIGHT, 30",
+        "4, 3, 6, 1, 5, LARGE_STRAIGHT, 0",
+        "2, 3, 6, 4, 5, LARGE_STRAIGHT, 40",
+        "1, 2, 3, 5, 6, SMALL_STRAIGHT, 0",
+        "6, 6, 6, 6, 6, YATZEE, 50",
+        "1, 2, 3, 5, 6, CHANCE, 17"
+    })
+    public void testCategoryScore(int value1, int value2, int value3, int value4, int value5,
+            ScoreCategory category, int expectedScore) {
+        int hand = PackedHand.of(value1, value2, value3, value4, value5);
+        Assertions.assertEquals(expectedScore, category.score(hand));
+    }
+
+    /**
+     * Tests that scoring every category of a hand matches the single lookups.
+     */
+    @Test
+    public void testScoreAll() {
+        int hand = PackedHand.of(2, 3, 4, 5, 5);
+        int[] scores = new int[ScoreCategory.values().length];
+        new DiceModel().scoreAll(hand, scores);
+        for (ScoreCategory category : ScoreCategory.values()) {
+            Assertions.assertEquals(category.score(hand), scores[category.ordinal()]);
+        }
+    }
+
+    /**
+     * Tests the upper bonus, the Yatzee bonus, the points a hand would earn
+     * and the total score.
+     */
+    @Test
+    public void testBonusesAndTotal() {
+        Scorecard scorecard = new Scorecard();
+        scorecard.score(ScoreCategory.YATZEE, PackedHand.of(4, 4, 4, 4, 4));
+        scorecard.score(ScoreCategory.SIXES, PackedHand.of(6, 6, 6, 6, 1));
+        scorecard.score(ScoreCategory.FIVES, PackedHand.of(5, 5, 5, 5, 1));
+        Assertions.assertEquals(0, scorecard.getUpperBonus());
+        Assertions.assertEquals(120, scorecard.pointsFor(ScoreCategory.FOURS, PackedHand.of(4, 4, 4, 4, 4)));
+        Assertions.assertFalse(scorecard.isUsed(ScoreCategory.FOURS));
+        Assertions.assertEquals(120, scorecard.score(ScoreCategory.FOURS, PackedHand.of(4, 4, 4, 4, 4)));
+
+        Assertions.assertEquals(64, scorecard.getUpperSubtotal());
+        Assertions.assertEquals(Scorecard.UPPER_BONUS, scorecard.getUpperBonus());
+        Assertions.assertEquals(Scorecard.YATZEE_BONUS, scorecard.getYatzeeBonus());
+        Assertions.assertEquals(50 + 64 + 35 + 100, scorecard.getTotal());
+        Assertions.assertFalse(scorecard.isComplete());
+    }
+
+    /**
+     * Tests that a category cannot be scored twice.
+     */
+    @Test
+    public void testCategoryUsedTwice() {
+        Scorecard scorecard = new Scorecard();
+        scorecard.score(ScoreCategory.CHANCE, PackedHand.of(1, 2, 3, 4, 5));
+        Assertions.assertTrue(scorecard.isUsed(ScoreCategory.CHANCE));
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> scorecard.score(ScoreCategory.CHANCE, PackedHand.of(1, 2, 3, 4, 5)));
+    }
+}
@@ -0,0 +1,109 @@
+package pipeline;
+
+import model.DiceModel;
+import model.HandCategory;
+import model.PackedHand;
+import model.ScoreCategory;
+import model.ValidationError;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import statistics.CategoryStatistics;
+import statistics.StatisticsSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for the {@link Pipeline} and {@link Stages} classes, covering the
+ * standard stages, rejection with its position and fusion.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class PipelineTest {
+
+    DiceModel model = new DiceModel();
+
+    /**
+     * Tests a full pipeline from text to statistics.
+     */
+    @Test
+    public void testTextToStatistics() {
+        CategoryStatistics statistics = new CategoryStatistics();
+        List<String> sunk = new ArrayList<>();
+        Pipeline pipeline = Pipeline.of(Stages.parse(), Stages.validate(), Stages.normalize(), Stages.histogram(),
+                Stages.score(ScoreCategory.FULL_HOUSE), Stages.record(statistics),
+                Stages.sink(result -> sunk.add(result.isValid()
+                        ? result.getCategory() + " " + result.getScore() : result.getError().name())));
+        HandResult result = new HandResult();
+
+        pipeline.process(result.reset("3 1 3 1 3"));
+        Assertions.assertTrue(result.isValid());
+        Assertions.assertEquals(PackedHand.of(1, 1, 3, 3, 3), result.getHand());
+        Assertions.assertEquals(2, result.getFaceCount(1));
+        Assertions.assertEquals(3, result.getFaceCount(3));
+        pipeline.process(result.reset("1 2 9 4 5"));
+        Assertions.assertEquals(ValidationError.OUT_OF_RANGE, result.getError());
+        Assertions.assertEquals(4, result.getErrorPosition());
+
+        Assertions.assertEquals(List.of("FULL_HOUSE 25", "OUT_OF_RANGE"), sunk);
+        StatisticsSnapshot snapshot = statistics.snapshot();
+        Assertions.assertEquals(1, snapshot.getCount(HandCategory.FULL_HOUSE));
+        Assertions.assertEquals(1, snapshot.getInvalid());
+    }
+
+    /**
+     * Tests that the histogram classifier agrees with the model on every
+     * key, and that invalid packed hands are rejected before it.
+     */
+    @Test
+    public void testHistogramMatchesModel() {
+        Pipeline pipeline = Pipeline.of(Stages.validate(), Stages.histogram());
+        HandResult result = new HandResult();
+        for (int key = 0; key < 1 << 15; key++) {
+            pipeline.process(result.reset(key));
+            boolean passed = result.isValid();
+            Assertions.assertEquals(model.classifyCode(key) >= 0, passed, "Key " + key);
+            if (passed) {
+                Assertions.assertEquals(model.classifyCode(key), result.getCategoryCode(), "Key " + key);
+            }
+        }
+    }
+
+    /**
+     * Tests that composed stages and nested pipelines are flattened into one
+     * sequence.
+     */
+    @Test
+    public void testFusion() {
+        ResultProcessor front = Stages.validate().andThen(Stages.normalize());
+        Pipeline pipeline = Pipeline.of(front, Pipeline.of(Stages.classify(model), Stages.score(ScoreCategory.CHANCE)));
+
+        Assertions.assertEquals(4, pipeline.size());
+        int[] hands = {PackedHand.of(6, 5, 4, 3, 2), PackedHand.INVALID, PackedHand.of(1, 1, 1, 1, 1)};
+        HandResult result = new HandResult();
+        Assertions.assertEquals(2, pipeline.processAll(hands, 0, hands.length, result));
+        Assertions.assertEquals(5, result.getScore());
+        Assertions.assertEquals(HandCategory.FIVE_OF_A_KIND, result.getCategory());
+    }
+
+    /**
+     * Tests that the validate and classify stages report the position of the
+     * first bad die, as the model does.
+     */
+    @Test
+    public void testRejectedPosition() {
+        int badThirdDie = PackedHand.of(1, 2, 3, 4, 5) & ~(0b111 << 6) | 7 << 6;
+        int strayBits = PackedHand.of(1, 2, 3, 4, 5) | 1 << 15;
+        HandResult result = new HandResult();
+        for (ResultProcessor stage : List.of(Stages.validate(), Stages.classify(model))) {
+            stage.process(result.reset(badThirdDie));
+            Assertions.assertEquals(ValidationError.OUT_OF_RANGE, result.getError());
+            Assertions.assertEquals(2, result.getErrorPosition());
+            Assertions.assertEquals(2, ValidationError.decodePosition(model.validate(badThirdDie)));
+
+            stage.process(result.reset(strayBits));
+            Assertions.assertEquals(PackedHand.DICE, result.getErrorPosition());
+        }
+    }
+}
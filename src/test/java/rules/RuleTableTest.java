@@ -0,0 +1,100 @@
+package rules;
+
+import model.DiceModel;
+import model.HandCategory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * Tests for the {@link GameRules} and {@link RuleTable} classes, covering the
+ * standard game and variants with other dice.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class RuleTableTest {
+
+    /**
+     * Tests that the compiled standard rules classify every key exactly like
+     * {@link DiceModel}.
+     */
+    @Test
+    public void testStandardRulesMatchModel() {
+        RuleTable table = GameRules.standard().compile();
+        DiceModel model = new DiceModel();
+
+        Assertions.assertEquals(HandCategory.values().length, table.getCodeCount());
+        for (int key = 0; key < 1 << 15; key++) {
+            Assertions.assertEquals(model.classifyCode(key), table.classify(key), "Key " + key);
+        }
+        Assertions.assertEquals(-1, table.classify(1 << 15));
+        Assertions.assertEquals(-1, table.classify(-1));
+    }
+
+    /**
+     * Tests a six-dice variant with a six of a kind and a large straight.
+     */
+    @Test
+    public void testSixDiceVariant() {
+        RuleTable table = new GameRules(6, 6, List.of(
+                CombinationRule.ofAKind(6, "Six of a kind!"),
+                CombinationRule.straight(6, "Straight!"),
+                CombinationRule.groups(3, 3, "Two triples!"),
+                CombinationRule.ofAKind(3, "Three of a kind!")), "Nothing.").compile();
+
+        Assertions.assertEquals(6, table.getDice());
+        Assertions.assertEquals("Six of a kind!", message(table, 4, 4, 4, 4, 4, 4));
+        Assertions.assertEquals("Straight!", message(table, 6, 1, 5, 2, 4, 3));
+        Assertions.assertEquals("Two triples!", message(table, 2, 5, 2, 5, 2, 5));
+        Assertions.assertEquals("Three of a kind!", message(table, 2, 5, 2, 1, 2, 5));
+        Assertions.assertEquals("Nothing.", message(table, 1, 1, 2, 2, 3, 3));
+        Assertions.assertEquals(-1, table.pack(1, 2, 3, 4, 5));
+        Assertions.assertEquals(-1, table.pack(1, 2, 3, 4, 5, 7));
+    }
+
+    /**
+     * Tests a variant with eight-sided dice, which need four bits per die.
+     */
+    @Test
+    public void testEightSidedDice() {
+        RuleTable table = new GameRules(5, 8, List.of(
+                CombinationRule.straight(5, "Straight!"),
+                CombinationRule.ofAKind(2, "Pair!")), "Nothing.").compile();
+
+        int hand = table.pack(8, 7, 6, 5, 4);
+        Assertions.assertEquals(8, table.die(hand, 0));
+        Assertions.assertEquals(4, table.die(hand, 4));
+        Assertions.assertEquals("Straight!", table.getMessage(table.classify(hand)));
+        Assertions.assertEquals("Pair!", message(table, 8, 8, 1, 2, 3));
+        Assertions.assertEquals("Nothing.", message(table, 8, 6, 4, 2, 1));
+
+        int[] hands = {hand, 0, table.pack(1, 1, 1, 1, 1)};
+        byte[] codes = new byte[3];
+        Assertions.assertEquals(1, table.classifyAll(hands, codes, 3));
+        Assertions.assertArrayEquals(new byte[]{0, -1, 1}, codes);
+    }
+
+    /**
+     * Tests that variants too large for a lookup table are rejected.
+     */
+    @Test
+    public void testRejectsOversizedVariants() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new GameRules(7, 8, List.of(), "Nothing."));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new GameRules(0, 6, List.of(), "Nothing."));
+    }
+
+    /**
+     * Classifies dice values and returns the message of the combination.
+     *
+     * @param table The compiled rules.
+     * @param values The dice values.
+     * @return The message.
+     */
+    private static String message(RuleTable table, int... values) {
+        return table.getMessage(table.classify(table.pack(values)));
+    }
+}
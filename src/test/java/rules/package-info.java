@@ -0,0 +1,4 @@
+/**
+ * Test classes for the game rules.
+ */
+package rules;
@@ -0,0 +1,161 @@
+package server;
+
+import journal.GameJournal;
+import journal.JournalReader;
+import model.DiceModel;
+import model.ScoreCategory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import statistics.CategoryStatistics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests for the {@link GameSession} and {@link GameServer} classes, covering
+ * the line protocol and concurrent sessions.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class GameSessionTest {
+
+    DiceModel model = new DiceModel();
+    CategoryStatistics statistics = new CategoryStatistics();
+
+    /**
+     * Tests that a turn allows one roll and two rerolls.
+     */
+    @Test
+    public void testTurn() {
+        GameSession session = new GameSession(model, statistics, new SplittableRandom(1));
+
+        Assertions.assertTrue(session.handle("HOLD 1").startsWith("ERROR"));
+        String first = session.handle("roll");
+        Assertions.assertTrue(first.startsWith("HAND ") && first.contains(" REROLLS 2 "), first);
+        Assertions.assertTrue(session.handle("ROLL").startsWith("ERROR"));
+
+        String second = session.handle("HOLD 1 2 3 4 5");
+        Assertions.assertEquals(first.substring(0, 14), second.substring(0, 14));
+        Assertions.assertTrue(session.handle("HOLD").contains(" REROLLS 0 "));
+        Assertions.assertEquals("ERROR No rerolls left, use SCORE.", session.handle("HOLD"));
+        Assertions.assertEquals("HISTORY 3", session.handle("HISTORY").substring(0, 9));
+        Assertions.assertEquals(3, statistics.snapshot().getTotal());
+        Assertions.assertTrue(session.handle("STATS").startsWith("STATS 3 FIVE_OF_A_KIND="));
+    }
+
+    /**
+     * Tests that a whole game ends after every category is scored.
+     */
+    @Test
+    public void testWholeGame() {
+        GameSession session = new GameSession(model, statistics, new SplittableRandom(2));
+
+        String response = "";
+        for (ScoreCategory category : ScoreCategory.values()) {
+            session.handle("ROLL");
+            response = session.handle("SCORE " + category.name());
+        }
+        Assertions.assertEquals("GAME OVER " + session.getScorecard().getTotal(), response);
+        Assertions.assertTrue(session.getScorecard().isComplete());
+        Assertions.assertTrue(session.handle("ROLL").startsWith("HAND "));
+        Assertions.assertFalse(session.getScorecard().isComplete());
+    }
+
+    /**
+     * Tests the errors reported for invalid commands.
+     */
+    @Test
+    public void testErrors() {
+        GameSession session = new GameSession(model, statistics, new SplittableRandom(3));
+
+        Assertions.assertEquals("ERROR Unknown command: JUMP", session.handle("JUMP"));
+        Assertions.assertArrayEquals(new String[] {"HOLD", "1", "3"}, GameSession.tokens(" \tHOLD  1\t3 "));
+        Assertions.assertEquals(0, GameSession.tokens("   ").length);
+        Assertions.assertEquals("ERROR Use ROLL to start a turn.", session.handle("SCORE CHANCE"));
+        session.handle("ROLL");
+        Assertions.assertEquals("ERROR Positions must be between 1 and 5.", session.handle("HOLD 6"));
+        Assertions.assertEquals("ERROR Positions must be between 1 and 5.", session.handle("HOLD 1 0"));
+        Assertions.assertEquals("ERROR Positions must be between 1 and 5.", session.handle("HOLD 12"));
+        Assertions.assertEquals("ERROR Unknown category: BINGO", session.handle("SCORE BINGO"));
+        Assertions.assertTrue(session.handle("SCORE chance").startsWith("SCORED "));
+        session.handle("ROLL");
+        Assertions.assertEquals("ERROR Chance is already used.", session.handle("SCORE CHANCE"));
+        Assertions.assertEquals("BYE", session.handle("QUIT"));
+        Assertions.assertTrue(session.isClosed());
+    }
+
+    /**
+     * Tests that several clients play whole games on one server at the same
+     * time, every roll being journaled under its own session id.
+     *
+     * @param directory A temporary directory for the journal.
+     * @throws Exception If a client fails.
+     */
+    @Test
+    public void testConcurrentSessions(@TempDir Path directory) throws Exception {
+        int clients = 16;
+        Path file = directory.resolve("server.journal");
+        try (GameJournal journal = new GameJournal(file, false);
+             GameServer server = new GameServer(model, 0, 42, journal)) {
+            server.start();
+            ExecutorService executor = Executors.newFixedThreadPool(clients);
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                results.add(executor.submit(() -> playGame(server.getPort())));
+            }
+            for (Future<String> result : results) {
+                Assertions.assertTrue(result.get().startsWith("GAME OVER "), result.get());
+            }
+            Assertions.assertEquals(clients * ScoreCategory.values().length,
+                    server.getStatistics().snapshot().getTotal());
+            executor.shutdown();
+        }
+
+        int[] rolls = new int[clients + 1];
+        new JournalReader(file).forEach((timestamp, session, hand, categoryCode) -> rolls[session]++);
+        for (int session = 1; session <= clients; session++) {
+            Assertions.assertEquals(ScoreCategory.values().length, rolls[session], "Session " + session);
+        }
+    }
+
+    /**
+     * Plays a whole game over a socket, scoring every category after the
+     * first roll.
+     *
+     * @param port The port of the server.
+     * @return The response to the last score command.
+     * @throws IOException If the connection fails.
+     */
+    private static String playGame(int port) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+            Assertions.assertEquals("READY", in.readLine());
+            String response = "";
+            for (ScoreCategory category : ScoreCategory.values()) {
+                out.println("ROLL");
+                in.readLine();
+                out.println("SCORE " + category.name());
+                response = in.readLine();
+            }
+            out.println("QUIT");
+            Assertions.assertEquals("BYE", in.readLine());
+            return response;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package simulation;
+
+import model.DiceModel;
+import model.HandCategory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Tests for the {@link ExactProbabilities} class, comparing the enumerated
+ * probabilities with the known counts of ordered rolls.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class ExactProbabilitiesTest {
+
+    /**
+     * Tests the number of ordered rolls and the reduced probability of every
+     * category.
+     *
+     * @param category The category to be tested.
+     * @param expectedCount The expected number of ordered rolls.
+     * @param expectedProbability The expected reduced fraction.
+     */
+    @ParameterizedTest
+    @CsvSource({
+        "FIVE_OF_A_KIND, 6, 1/1296",
+        "FOUR_OF_A_KIND, 150, 25/1296",
+        "FULL_HOUSE, 300, 25/648",
+        "THREE_OF_A_KIND, 1200, 25/162",
+        "TWO_PAIRS, 1800, 25/108",
+        "ONE_PAIR, 3600, 25/54",
+        "NO_SPECIAL_COMBINATION, 720, 5/54"
+    })
+    public void testExactProbabilities(HandCategory category, long expectedCount, String expectedProbability) {
+        Assertions.assertEquals(expectedCount, ExactProbabilities.rollCount(category));
+        Assertions.assertEquals(expectedProbability, ExactProbabilities.of(category).toString());
+    }
+
+    /**
+     * Tests that a Monte Carlo run is consistent with the exact distribution.
+     */
+    @Test
+    public void testSimulationAgreesWithExactDistribution() {
+        SimulationResult result = new MonteCarloSimulator(new DiceModel()).simulate(1_000_000, 11L);
+        Assertions.assertTrue(ExactProbabilities.chiSquare(result) < 22.46);
+    }
+}
@@ -0,0 +1,59 @@
+package simulation;
+
+import model.DiceModel;
+import model.HandCategory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tests for the {@link MonteCarloSimulator} class, covering reproducibility
+ * and the plausibility of the sampled frequencies.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class MonteCarloSimulatorTest {
+
+    DiceModel diceModel = new DiceModel();
+
+    /**
+     * Tests that the same seed gives the same counts on pools of different
+     * sizes.
+     */
+    @Test
+    public void testReproducibleAcrossThreadCounts() {
+        long rolls = 10L * MonteCarloSimulator.CHUNK_SIZE + 123;
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            SimulationResult first = new MonteCarloSimulator(diceModel, single).simulate(rolls, 42L);
+            SimulationResult second = new MonteCarloSimulator(diceModel, several).simulate(rolls, 42L);
+
+            Assertions.assertEquals(rolls, first.getTotal());
+            Assertions.assertEquals(first, second);
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+
+    /**
+     * Tests that the sampled frequency of a full house is close to its exact
+     * probability of 300/7776.
+     */
+    @Test
+    public void testFullHouseFrequency() {
+        SimulationResult result = new MonteCarloSimulator(diceModel).simulate(2_000_000, 7L);
+        Assertions.assertEquals(300.0 / 7776, result.getFrequency(HandCategory.FULL_HOUSE), 0.001);
+    }
+
+    /**
+     * Tests that simulating no rolls gives an empty result.
+     */
+    @Test
+    public void testNoRolls() {
+        Assertions.assertEquals(0, new MonteCarloSimulator(diceModel).simulate(0, 1L).getTotal());
+    }
+}
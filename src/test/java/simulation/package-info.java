@@ -0,0 +1,4 @@
+/**
+ * Test classes for the simulation engines.
+ */
+package simulation;
@@ -0,0 +1,86 @@
+package statistics;
+
+import model.HandCategory;
+import model.ValidationError;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests for the {@link CategoryStatistics} class, covering recording and
+ * snapshots under concurrent updates.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class CategoryStatisticsTest {
+
+    /**
+     * Tests that recorded hands appear in a snapshot.
+     */
+    @Test
+    public void testSnapshot() {
+        CategoryStatistics statistics = new CategoryStatistics();
+        statistics.record(HandCategory.FULL_HOUSE);
+        statistics.recordCode(HandCategory.FULL_HOUSE.code());
+        statistics.recordCode(HandCategory.ONE_PAIR.code());
+        statistics.recordCode(-1);
+        statistics.recordInvalid();
+        statistics.recordError(ValidationError.WRONG_COUNT);
+
+        StatisticsSnapshot snapshot = statistics.snapshot();
+
+        Assertions.assertEquals(2, snapshot.getCount(HandCategory.FULL_HOUSE));
+        Assertions.assertEquals(1, snapshot.getCount(HandCategory.ONE_PAIR));
+        Assertions.assertEquals(0, snapshot.getCount(HandCategory.FIVE_OF_A_KIND));
+        Assertions.assertEquals(3, snapshot.getInvalid());
+        Assertions.assertEquals(1, snapshot.getInvalid(ValidationError.WRONG_COUNT));
+        Assertions.assertEquals(0, snapshot.getInvalid(ValidationError.OUT_OF_RANGE));
+        Assertions.assertEquals(6, snapshot.getTotal());
+        Assertions.assertTrue(snapshot.getThroughput() >= 0);
+        Assertions.assertTrue(snapshot.toString().startsWith("Evaluated hands: 6"));
+    }
+
+    /**
+     * Tests that no count is lost when many threads record at the same time.
+     *
+     * @throws Exception If a worker fails.
+     */
+    @Test
+    public void testConcurrentRecording() throws Exception {
+        int threads = 8;
+        int perThread = 100_000;
+        CategoryStatistics statistics = new CategoryStatistics();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    statistics.recordCode(i % (HandCategory.values().length + 1) - 1);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+
+        StatisticsSnapshot snapshot = statistics.snapshot();
+        Assertions.assertEquals((long) threads * perThread, snapshot.getTotal());
+        long perCode = (long) threads * (perThread / 8);
+        Assertions.assertEquals(perCode, snapshot.getInvalid());
+        for (HandCategory category : HandCategory.values()) {
+            Assertions.assertEquals(perCode, snapshot.getCount(category));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package strategy;
+
+import model.PackedHand;
+import model.ScoreCategory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Tests for the {@link GameStrategyTable} class. The table is computed once
+ * for all tests, which takes several seconds.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class GameStrategyTableTest {
+
+    private static GameStrategyTable table;
+
+    /**
+     * Computes the table shared by the tests.
+     */
+    @BeforeAll
+    public static void computeTable() {
+        table = GameStrategyTable.compute();
+    }
+
+    /**
+     * Tests the expected score of an optimal game without Yatzee bonuses,
+     * which is known to be about 245.87 points.
+     */
+    @Test
+    public void testExpectedGameScore() {
+        Assertions.assertEquals(245.87, table.expectedGameScore(), 0.01);
+    }
+
+    /**
+     * Tests the choice of category for a final hand at the start of a game.
+     */
+    @Test
+    public void testBestCategory() {
+        Assertions.assertEquals(ScoreCategory.YATZEE, table.bestCategory(0, 0, PackedHand.of(3, 3, 3, 3, 3)));
+        Assertions.assertEquals(ScoreCategory.LARGE_STRAIGHT, table.bestCategory(0, 0, PackedHand.of(5, 2, 4, 1, 3)));
+        int onlyChanceLeft = ((1 << GameStrategyTable.CATEGORY_COUNT) - 1) & ~ScoreCategory.CHANCE.bit();
+        Assertions.assertEquals(ScoreCategory.CHANCE, table.bestCategory(onlyChanceLeft, 10, PackedHand.of(3, 3, 3, 3, 3)));
+    }
+
+    /**
+     * Tests that four of a kind is kept when chasing a Yatzee.
+     */
+    @Test
+    public void testBestKeepMask() {
+        Assertions.assertEquals(0b11011, table.bestKeepMask(0, 0, PackedHand.of(6, 6, 1, 6, 6), 2));
+        Assertions.assertEquals(0b11111, table.bestKeepMask(0, 0, PackedHand.of(6, 6, 1, 6, 6), 0));
+    }
+
+    /**
+     * Tests that a saved table is loaded with the same values.
+     *
+     * @param directory A temporary directory for the table file.
+     * @throws IOException If the file cannot be written or read.
+     */
+    @Test
+    public void testSaveAndLoad(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("strategy.bin");
+        table.save(file);
+        GameStrategyTable loaded = GameStrategyTable.load(file);
+
+        Assertions.assertEquals(table.expectedGameScore(), loaded.expectedGameScore());
+        Assertions.assertEquals(table.expectedRemainingScore(0b111111, 63), loaded.expectedRemainingScore(0b111111, 63));
+
+        Files.write(file, new byte[16]);
+        Assertions.assertThrows(IOException.class, () -> GameStrategyTable.load(file));
+    }
+}
@@ -0,0 +1,101 @@
+package strategy;
+
+import model.HandCategory;
+import model.PackedHand;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Tests for the {@link RerollSolver} and {@link RerollAdvice} classes,
+ * covering expected values, the recommended keep masks and the advice built
+ * from them.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class RerollSolverTest {
+
+    /**
+     * Tests the probability of rolling five of a kind within a turn, which is
+     * known to be 2783176/60466176.
+     */
+    @Test
+    public void testFiveOfAKindTurnProbability() {
+        RerollSolver solver = RerollSolver.forCategory(HandCategory.FIVE_OF_A_KIND);
+        Assertions.assertEquals(2783176.0 / 60466176, solver.expectedTurnValue(), 1e-12);
+    }
+
+    /**
+     * Tests the probability of completing five of a kind with a single reroll
+     * of one die.
+     */
+    @Test
+    public void testSingleRerollExpectedValue() {
+        RerollSolver solver = RerollSolver.forCategory(HandCategory.FIVE_OF_A_KIND);
+        int hand = PackedHand.of(4, 4, 2, 4, 4);
+        Assertions.assertEquals(1.0 / 6, solver.expectedValue(hand, 1), 1e-12);
+        Assertions.assertEquals(0.0, solver.expectedValue(hand, 0));
+    }
+
+    /**
+     * Tests the keep masks recommended for hands in rolling order.
+     *
+     * @param target The target category.
+     * @param value1 The value of the first dice.
+     * @param value2 The value of the second dice.
+     * @param value3 The value of the third dice.
+     * @param value4 The value of the fourth dice.
+     * @param value5 The value of the fifth dice.
+     * @param expectedMask The expected mask of dice to keep.
+     */
+    @ParameterizedTest
+    @CsvSource({
+        "FIVE_OF_A_KIND, 4, 4, 2, 4, 4, 27",
+        "FIVE_OF_A_KIND, 3, 5, 5, 1, 2, 6",
+        "FULL_HOUSE, 6, 2, 6, 2, 1, 15",
+        "ONE_PAIR, 1, 2, 3, 1, 5, 31"
+    })
+    public void testBestKeepMask(HandCategory target, int value1, int value2, int value3, int value4, int value5,
+            int expectedMask) {
+        int hand = PackedHand.of(value1, value2, value3, value4, value5);
+        Assertions.assertEquals(expectedMask, RerollSolver.forCategory(target).bestKeepMask(hand, 2));
+    }
+
+    /**
+     * Tests that invalid hands and numbers of rerolls are rejected.
+     */
+    @Test
+    public void testInvalidHand() {
+        RerollSolver solver = RerollSolver.forCategory(HandCategory.ONE_PAIR);
+        int hand = PackedHand.of(1, 2, 3, 4, 5);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> solver.bestKeepMask(PackedHand.INVALID, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> solver.bestKeepMask(hand, 3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> solver.bestKeepMask(hand, -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> solver.expectedValue(hand, 3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> solver.expectedValue(hand, -1));
+    }
+
+    /**
+     * Tests that advice agrees with the solver of every category and rejects
+     * invalid input.
+     */
+    @Test
+    public void testAdvice() {
+        RerollAdvice.precompute();
+        int hand = PackedHand.of(6, 2, 6, 2, 1);
+        RerollAdvice advice = RerollAdvice.of(hand, 2);
+
+        Assertions.assertEquals(hand, advice.getHand());
+        Assertions.assertEquals(2, advice.getRerollsLeft());
+        for (HandCategory target : HandCategory.values()) {
+            RerollSolver solver = RerollSolver.forCategory(target);
+            Assertions.assertEquals(solver.bestKeepMask(hand, 2), advice.getKeepMask(target));
+            Assertions.assertEquals(solver.expectedValue(hand, 2), advice.getProbability(target));
+        }
+        Assertions.assertEquals(1.0, advice.getProbability(HandCategory.TWO_PAIRS));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RerollAdvice.of(PackedHand.INVALID, 2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RerollAdvice.of(hand, 3));
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Test classes for the strategy solvers.
+ */
+package strategy;
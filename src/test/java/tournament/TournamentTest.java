@@ -0,0 +1,114 @@
+package tournament;
+
+import model.DiceModel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tests for the {@link Tournament}, {@link GameRunner} and
+ * {@link ScoreDistribution} classes, covering complete games, the bracket,
+ * reproducibility across pools and the score statistics.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class TournamentTest {
+
+    DiceModel model = new DiceModel();
+    GameRunner runner = new GameRunner(model);
+
+    /**
+     * Tests that games are reproducible and that the greedy strategy scores
+     * more than the random one.
+     */
+    @Test
+    public void testGames() {
+        Strategy greedy = Strategies.greedy();
+        Strategy random = Strategies.random();
+        Assertions.assertEquals(runner.play(greedy, new SplittableRandom(7)), runner.play(greedy, new SplittableRandom(7)));
+
+        long greedyTotal = 0;
+        long randomTotal = 0;
+        for (long seed = 0; seed < 200; seed++) {
+            greedyTotal += runner.play(greedy, new SplittableRandom(seed));
+            randomTotal += runner.play(random, new SplittableRandom(seed));
+        }
+        Assertions.assertTrue(greedyTotal > randomTotal * 2, greedyTotal + " " + randomTotal);
+    }
+
+    /**
+     * Tests the bracket order of the seeds.
+     */
+    @Test
+    public void testSeedOrder() {
+        Assertions.assertArrayEquals(new int[] {1}, Tournament.seedOrder(1));
+        Assertions.assertArrayEquals(new int[] {1, 4, 2, 3}, Tournament.seedOrder(4));
+        Assertions.assertArrayEquals(new int[] {1, 8, 4, 5, 2, 7, 3, 6}, Tournament.seedOrder(8));
+    }
+
+    /**
+     * Tests a bracket with a bye, and that the results do not depend on the
+     * number of threads.
+     */
+    @Test
+    public void testBracket() {
+        Strategy greedy = Strategies.greedy();
+        Strategy firstRandom = Strategies.random();
+        Strategy secondRandom = Strategies.random();
+        List<Strategy> players = Arrays.asList(greedy, firstRandom, secondRandom);
+
+        ForkJoinPool parallelPool = new ForkJoinPool(4);
+        ForkJoinPool sequentialPool = new ForkJoinPool(1);
+        TournamentResult result;
+        TournamentResult sequential;
+        try {
+            result = new Tournament(runner, parallelPool, 100).run(players, 42);
+            sequential = new Tournament(runner, sequentialPool, 100).run(players, 42);
+        } finally {
+            parallelPool.shutdown();
+            sequentialPool.shutdown();
+        }
+
+        Assertions.assertSame(greedy, result.getChampion());
+        Assertions.assertEquals(2, result.getRounds().size());
+        Assertions.assertNull(result.getRounds().get(0).get(0).getSecond());
+        Assertions.assertEquals(200, result.getGames());
+        Assertions.assertEquals(100, result.getDistribution(greedy).getCount());
+        Assertions.assertEquals(300, result.getDistribution(firstRandom).getCount() + result.getDistribution(secondRandom).getCount());
+        Assertions.assertSame(greedy, result.getRanking().get(0));
+        Assertions.assertEquals(result.getRounds().toString(), sequential.getRounds().toString());
+        Assertions.assertEquals(result.getDistribution(greedy).getMean(), sequential.getDistribution(greedy).getMean());
+        Assertions.assertTrue(result.toString().contains("Champion: Greedy"), result.toString());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new Tournament(runner, 1).run(Arrays.asList(greedy, greedy), 0));
+    }
+
+    /**
+     * Tests the quantiles and the reservoir sample of a distribution.
+     */
+    @Test
+    public void testDistribution() {
+        ScoreDistribution scores = new ScoreDistribution(10, 1);
+        Assertions.assertEquals(0, scores.getQuantile(0.5));
+        for (int score = 1; score <= 100; score++) {
+            scores.record(score, score);
+        }
+
+        Assertions.assertEquals(100, scores.getCount());
+        Assertions.assertEquals(50.5, scores.getMean(), 1e-9);
+        Assertions.assertEquals(1, scores.getQuantile(0));
+        Assertions.assertEquals(50, scores.getQuantile(0.5));
+        Assertions.assertEquals(90, scores.getQuantile(0.9));
+        Assertions.assertEquals(100, scores.getQuantile(1));
+        Assertions.assertEquals(10, scores.getSample().size());
+        for (ScoreDistribution.Sample sample : scores.getSample()) {
+            Assertions.assertEquals(sample.getSeed(), sample.getScore());
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> scores.record(-1, 0));
+    }
+}
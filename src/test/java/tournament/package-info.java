@@ -0,0 +1,4 @@
+/**
+ * Test classes for the tournaments.
+ */
+package tournament;
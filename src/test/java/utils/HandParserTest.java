@@ -0,0 +1,121 @@
+package utils;
+
+import model.PackedHand;
+import model.ValidationError;
+import model.WrongResultsException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+/**
+ * Tests for the {@link HandParser} class, covering valid hands, separate
+ * arguments and the position of every kind of error.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class HandParserTest {
+
+    /**
+     * Tests parsing valid hands from characters and bytes.
+     */
+    @Test
+    public void testParseValid() {
+        int expected = PackedHand.of(3, 1, 5, 4, 2);
+        Assertions.assertEquals(expected, HandParser.parse("3 1 5 4 2"));
+        Assertions.assertEquals(expected, HandParser.parse("  3\t1  5 4 2\r"));
+        Assertions.assertEquals(expected, HandParser.parse("x3 1 5 4 2x", 1, 10));
+
+        byte[] bytes = "3 1 5 4 2\n".getBytes(StandardCharsets.US_ASCII);
+        Assertions.assertEquals(expected, HandParser.parse(bytes, 0, bytes.length));
+    }
+
+    /**
+     * Tests the error and position reported for invalid input.
+     *
+     * @param input The input to be parsed.
+     * @param expectedError The expected error.
+     * @param expectedPosition The expected position of the error.
+     */
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "1 2 a 4 5|MALFORMED_TOKEN|4",
+        "1 2 -3 4 5|MALFORMED_TOKEN|4",
+        "''|MALFORMED_TOKEN|0",
+        "1 2 3 4|WRONG_COUNT|7",
+        "1 2 3 4 5 6 x|MALFORMED_TOKEN|12",
+        "1 2 3 4 5 6|WRONG_COUNT|10",
+        "1 2 30 4 5|OUT_OF_RANGE|4",
+        "1 0 3 4 5|OUT_OF_RANGE|2",
+        "1 2 3 4 99999999999999|OUT_OF_RANGE|8"
+    })
+    public void testParseErrors(String input, ValidationError expectedError, int expectedPosition) {
+        int result = HandParser.parse(input);
+        Assertions.assertTrue(HandParser.isError(result));
+        Assertions.assertEquals(expectedError, HandParser.errorOf(result));
+        Assertions.assertEquals(expectedPosition, HandParser.errorPosition(result));
+
+        byte[] bytes = input.getBytes(StandardCharsets.US_ASCII);
+        Assertions.assertEquals(result, HandParser.parse(bytes, 0, bytes.length));
+    }
+
+    /**
+     * Tests that the character and byte parsers agree on random input mixing
+     * digits, separators and other characters.
+     */
+    @Test
+    public void testCharactersAndBytesAgree() {
+        String alphabet = "0123456789     \t\n-x";
+        SplittableRandom random = new SplittableRandom(5);
+        for (int n = 0; n < 20_000; n++) {
+            char[] text = new char[random.nextInt(16)];
+            for (int i = 0; i < text.length; i++) {
+                text[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+            }
+            String input = new String(text);
+            byte[] bytes = input.getBytes(StandardCharsets.US_ASCII);
+            Assertions.assertEquals(HandParser.parse(input), HandParser.parse(bytes, 0, bytes.length), input);
+        }
+    }
+
+    /**
+     * Tests parsing separate arguments, directly and through
+     * {@link ParserUtils}, including the exception-based wrapper.
+     */
+    @Test
+    public void testParseArguments() {
+        ParserUtils parserUtils = new ParserUtils();
+        Assertions.assertEquals(PackedHand.of(3, 1, 5, 4, 2),
+                parserUtils.parseArguments(new String[] {"3", "1", "5", "4", "2"}));
+        assertArgumentsError(ValidationError.NULL, 0, null);
+        assertArgumentsError(ValidationError.NULL, 1, new String[] {"3", null, "5"});
+        assertArgumentsError(ValidationError.MALFORMED_TOKEN, 2, new String[] {"3", "1", "x", "4", "2", "6"});
+        assertArgumentsError(ValidationError.WRONG_COUNT, 0, new String[0]);
+        assertArgumentsError(ValidationError.WRONG_COUNT, 3, new String[] {"3", "1", "9"});
+        assertArgumentsError(ValidationError.WRONG_COUNT, 5, new String[] {"3", "1", "5", "4", "2", "6"});
+        assertArgumentsError(ValidationError.OUT_OF_RANGE, 4, new String[] {"3", "1", "5", "4", "12"});
+
+        WrongResultsException exception = Assertions.assertThrows(WrongResultsException.class,
+                () -> parserUtils.parseStringArray(new String[] {"3", "-1"}));
+        Assertions.assertEquals(ValidationError.MALFORMED_TOKEN, exception.getError());
+        Assertions.assertEquals(1, exception.getPosition());
+    }
+
+    /**
+     * Checks the error and position reported for invalid arguments.
+     *
+     * @param expectedError The expected error.
+     * @param expectedPosition The expected position of the error.
+     * @param args The arguments to be parsed.
+     */
+    private static void assertArgumentsError(ValidationError expectedError, int expectedPosition, String[] args) {
+        int result = new ParserUtils().parseArguments(args);
+        Assertions.assertTrue(HandParser.isError(result));
+        Assertions.assertEquals(expectedError, HandParser.errorOf(result));
+        Assertions.assertEquals(expectedPosition, HandParser.errorPosition(result));
+    }
+}
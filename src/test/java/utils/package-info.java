@@ -0,0 +1,4 @@
+/**
+ * Test classes for the dice game utilities.
+ */
+package utils;
@@ -0,0 +1,140 @@
+package view;
+
+import model.HandCategory;
+import model.PackedHand;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Tests for the {@link HistoryListModel} class, covering rendering, the ring
+ * buffer and the spill file.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class HistoryListModelTest {
+
+    /**
+     * Tests that rows are rendered like the history entries of the GUI.
+     *
+     * @param directory A temporary directory for the spill file.
+     * @throws IOException If the spill file cannot be closed.
+     */
+    @Test
+    public void testRendering(@TempDir Path directory) throws IOException {
+        try (HistoryListModel history = new HistoryListModel(10, directory)) {
+            history.add(PackedHand.of(1, 1, 3, 3, 3), HandCategory.FULL_HOUSE);
+
+            Assertions.assertEquals(1, history.getSize());
+            Assertions.assertEquals("Roll 1: Full house! Dice game results: 1 1 3 3 3 ", history.getElementAt(0));
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> history.getElementAt(1));
+        }
+    }
+
+    /**
+     * Tests that entries beyond the capacity are spilled to a file and paged
+     * back in, in any order, and that no file is left behind.
+     *
+     * @param directory A temporary directory for the spill file.
+     * @throws IOException If the directory cannot be listed.
+     */
+    @Test
+    public void testSpillAndPageBack(@TempDir Path directory) throws IOException {
+        int count = 3 * HistoryListModel.PAGE_SIZE + 100;
+        int[] hands = new int[count];
+        int[] events = new int[1];
+
+        try (HistoryListModel history = new HistoryListModel(50, directory)) {
+            history.addListDataListener(new CountingListener(events));
+            for (int i = 0; i < count; i++) {
+                hands[i] = PackedHand.fromIndex(i % PackedHand.HAND_COUNT);
+                history.add(hands[i], HandCategory.ONE_PAIR);
+            }
+
+            Assertions.assertEquals(count, history.getSize());
+            Assertions.assertEquals(count, events[0]);
+            Assertions.assertEquals(count - 50, history.getSpilled());
+            for (int i = count - 1; i >= 0; i -= 7) {
+                Assertions.assertEquals(hands[i], history.getHand(i), "Row " + i);
+            }
+            Assertions.assertEquals(hands[5], history.getHand(5));
+            Assertions.assertTrue(history.getElementAt(count - 51).startsWith("Roll " + (count - 50) + ": "));
+
+            // Entries spilled after a page was read are still found.
+            history.add(hands[0], HandCategory.ONE_PAIR);
+            Assertions.assertEquals(hands[count - 50], history.getHand(count - 50));
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            Assertions.assertEquals(0, files.count());
+        }
+    }
+
+    /**
+     * Tests that a batch spilling past the capacity is added with a single
+     * notification.
+     *
+     * @param directory A temporary directory for the spill file.
+     * @throws IOException If the spill file cannot be closed.
+     */
+    @Test
+    public void testAddAll(@TempDir Path directory) throws IOException {
+        int[] hands = new int[10];
+        byte[] categories = new byte[10];
+        for (int i = 0; i < hands.length; i++) {
+            hands[i] = PackedHand.fromIndex(i);
+            categories[i] = HandCategory.TWO_PAIRS.code();
+        }
+        int[] events = new int[1];
+
+        try (HistoryListModel history = new HistoryListModel(4, directory)) {
+            history.add(PackedHand.of(6, 6, 6, 6, 6), HandCategory.FIVE_OF_A_KIND);
+            history.addListDataListener(new CountingListener(events));
+            history.addAll(hands, categories, 8);
+
+            Assertions.assertEquals(9, history.getSize());
+            Assertions.assertEquals(8, events[0]);
+            Assertions.assertTrue(history.getElementAt(0).startsWith("Roll 1: Five of a kind!"));
+            Assertions.assertEquals(hands[7], history.getHand(8));
+            Assertions.assertEquals(hands[2], history.getHand(3));
+            Assertions.assertTrue(history.getElementAt(3).startsWith("Roll 4: Two pairs!"));
+        }
+    }
+
+    /**
+     * List listener counting added rows.
+     */
+    private static final class CountingListener implements ListDataListener {
+
+        private final int[] events;
+
+        /**
+         * Constructs the listener.
+         *
+         * @param events The single-element array receiving the count.
+         */
+        CountingListener(int[] events) {
+            this.events = events;
+        }
+
+        @Override
+        public void intervalAdded(ListDataEvent e) {
+            events[0] += e.getIndex1() - e.getIndex0() + 1;
+        }
+
+        @Override
+        public void intervalRemoved(ListDataEvent e) {
+        }
+
+        @Override
+        public void contentsChanged(ListDataEvent e) {
+        }
+    }
+}
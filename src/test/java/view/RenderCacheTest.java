@@ -0,0 +1,50 @@
+package view;
+
+import model.HandCategory;
+import model.PackedHand;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link RenderCache} class, covering cached and uncached
+ * hands.
+ *
+ * @author Grzegorz Dziedzic
+ * @version 1.3
+ */
+public class RenderCacheTest {
+
+    /**
+     * Tests that every sorted hand is served from the cache with the expected
+     * text.
+     */
+    @Test
+    public void testSortedHands() {
+        for (int index = 0; index < PackedHand.HAND_COUNT; index++) {
+            int hand = PackedHand.fromIndex(index);
+            StringBuilder expected = new StringBuilder("Dice game results: ");
+            for (int value : PackedHand.toList(hand)) {
+                expected.append(value).append(' ');
+            }
+            Assertions.assertEquals(expected.toString(), RenderCache.results(hand));
+            Assertions.assertSame(RenderCache.results(hand), RenderCache.results(hand));
+            for (HandCategory category : HandCategory.values()) {
+                Assertions.assertEquals(category.getMessage() + " " + expected,
+                        RenderCache.result(hand, category.code()));
+                Assertions.assertSame(RenderCache.result(hand, category.code()),
+                        RenderCache.result(hand, category.code()));
+            }
+        }
+    }
+
+    /**
+     * Tests that hands which are not sorted keep the order of their dice.
+     */
+    @Test
+    public void testUnsortedHand() {
+        int hand = PackedHand.of(3, 1, 3, 1, 3);
+        Assertions.assertEquals("Dice game results: 3 1 3 1 3 ", RenderCache.results(hand));
+        Assertions.assertEquals("Full house! Dice game results: 3 1 3 1 3 ",
+                RenderCache.result(hand, HandCategory.FULL_HOUSE.code()));
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Test classes for the user interface models.
+ */
+package view;